@@ -0,0 +1,15 @@
+package com.eska.motive.crew.ws.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support for background jobs
+ * (buffer flushes, expiry sweeps, etc.)
+ *
+ * @author Motive Crew Team
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -57,6 +57,7 @@ public class SecurityConfig {
 					"/api/v1/auth/signup",           // User registration
 					"/uploads/**",                   // Uploaded files (avatars, etc.) - static serving
 					"/api/v1/uploads/**",            // Uploaded files via API endpoint (avatars, announcements)
+					"/api/v1/events/calendar/**",    // Calendar feeds (authenticated by the token in the URL)
 					"/actuator/**",                  // Spring Boot Actuator
 					"/error",                        // Error pages
 					"/swagger-ui/**",                // Swagger UI (if enabled)
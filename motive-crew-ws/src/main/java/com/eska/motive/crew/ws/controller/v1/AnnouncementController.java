@@ -2,6 +2,7 @@ package com.eska.motive.crew.ws.controller.v1;
 
 import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.dto.request.AnnouncementCreateRequest;
+import com.eska.motive.crew.ws.dto.request.AnnouncementSeenBatchRequest;
 import com.eska.motive.crew.ws.dto.request.AnnouncementSeenRequest;
 import com.eska.motive.crew.ws.dto.request.AnnouncementUpdateRequest;
 import com.eska.motive.crew.ws.dto.response.AnnouncementDTO;
@@ -114,6 +115,14 @@ public class AnnouncementController {
         return buildResponse(HttpStatus.OK, "Announcement marked as seen", null);
     }
 
+    @PostMapping("/seen")
+    public ResponseEntity<Map<String, Object>> markManyAsSeen(
+            @Valid @RequestBody AnnouncementSeenBatchRequest request)
+            throws ResourceNotFoundException {
+        int recorded = announcementService.markAnnouncementsAsSeen(request);
+        return buildResponse(HttpStatus.OK, "Announcements marked as seen", Map.of("recorded", recorded));
+    }
+
     private User getCurrentUser(String token) throws ResourceNotFoundException {
         String jwtToken = token.startsWith("Bearer ") ? token.substring(7) : token;
         return authService.getCurrentUser(jwtToken);
@@ -1,6 +1,7 @@
 package com.eska.motive.crew.ws.controller.v1;
 
 import com.eska.motive.crew.contract.StatusCode;
+import com.eska.motive.crew.ws.dto.request.BulkPaymentRequest;
 import com.eska.motive.crew.ws.dto.request.MarkPaymentRequest;
 import com.eska.motive.crew.ws.entity.MemberPayment;
 import com.eska.motive.crew.ws.entity.MonthlyCollection;
@@ -9,6 +10,7 @@ import com.eska.motive.crew.ws.exception.InternalErrorException;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.service.AuthService;
+import com.eska.motive.crew.ws.service.ContributionMatrixService;
 import com.eska.motive.crew.ws.service.ContributionService;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
@@ -18,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +41,9 @@ public class ContributionController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ContributionMatrixService contributionMatrixService;
+
     /**
      * Get current month collection
      * GET /api/v1/contributions/current
@@ -67,8 +73,8 @@ public class ContributionController {
             @RequestParam Integer month)
             throws ResourceNotFoundException {
         try {
-            // Get or create monthly collection (creates if doesn't exist)
-            MonthlyCollection collection = contributionService.getOrCreateMonthlyCollection(year, month);
+            // Read-only: a month not created yet comes back as an empty collection with no id
+            MonthlyCollection collection = contributionService.getMonthlyCollectionForView(year, month);
             ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
             
             Map<String, Object> response = new HashMap<>();
@@ -88,6 +94,46 @@ public class ContributionController {
         }
     }
 
+    /**
+     * Create the collection for a month ahead of time (admin)
+     * POST /api/v1/contributions/monthly?year=2025&month=11
+     */
+    @PostMapping("/monthly")
+    public ResponseEntity<Map<String, Object>> createMonthlyCollection(
+            @RequestHeader("Authorization") String token,
+            @RequestParam Integer year,
+            @RequestParam Integer month)
+            throws ResourceNotFoundException, ValidationException, InternalErrorException {
+        User currentUser = getCurrentUser(token);
+        MonthlyCollection collection = contributionService.createMonthlyCollection(year, month, currentUser);
+        ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Monthly collection created");
+        response.put("error", false);
+        response.put("data", buildCollectionResponse(collection, stats));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Members x months contribution matrix for a year
+     * GET /api/v1/contributions/matrix?year=2025
+     */
+    @GetMapping("/matrix")
+    public ResponseEntity<Map<String, Object>> getContributionMatrix(@RequestParam Integer year) {
+        ContributionMatrixService.Matrix matrix = contributionMatrixService.build(year);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Contribution matrix retrieved");
+        response.put("error", false);
+        response.put("data", buildMatrixResponse(matrix));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     /**
      * Mark member as paid
      * POST /api/v1/contributions/{collectionId}/members/{memberId}/pay
@@ -111,6 +157,35 @@ public class ContributionController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Mark many members as paid in one request
+     * POST /api/v1/contributions/{collectionId}/payments/bulk
+     */
+    @PostMapping("/{collectionId}/payments/bulk")
+    public ResponseEntity<Map<String, Object>> markMembersAsPaid(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long collectionId,
+            @Valid @RequestBody BulkPaymentRequest request)
+            throws ResourceNotFoundException, ValidationException, InternalErrorException {
+        User currentUser = getCurrentUser(token);
+        List<ContributionService.BulkPaymentResult> results =
+                contributionService.markMembersAsPaid(collectionId, request, currentUser);
+        long recorded = results.stream().filter(ContributionService.BulkPaymentResult::isSuccess).count();
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("results", results);
+        data.put("recorded", recorded);
+        data.put("failed", results.size() - recorded);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Payments recorded");
+        response.put("error", false);
+        response.put("data", data);
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     /**
      * Mark member as unpaid
      * DELETE /api/v1/contributions/{collectionId}/members/{memberId}/pay
@@ -227,5 +302,44 @@ public class ContributionController {
         data.put("updatedAt", payment.getUpdatedAt());
         return data;
     }
-}
 
+    /**
+     * One row per member with a 12-bit paid mask and 12 amounts, plus per-month totals
+     */
+    private Map<String, Object> buildMatrixResponse(ContributionMatrixService.Matrix matrix) {
+        int months = ContributionMatrixService.MONTHS;
+        long[] monthTotals = matrix.getMonthTotalCents();
+        int[] paidCounts = matrix.getPaidCounts();
+        List<Map<String, Object>> monthColumns = new ArrayList<>(months);
+        for (int month = 1; month <= months; month++) {
+            Map<String, Object> column = new HashMap<>();
+            column.put("month", month);
+            column.put("target", matrix.getTarget(month));
+            column.put("locked", matrix.isLocked(month));
+            column.put("totalCollected", BigDecimal.valueOf(monthTotals[month - 1], 2));
+            column.put("membersPaid", paidCounts[month - 1]);
+            monthColumns.add(column);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(matrix.getMemberCount());
+        for (int row = 0; row < matrix.getMemberCount(); row++) {
+            BigDecimal[] amounts = new BigDecimal[months];
+            for (int month = 1; month <= months; month++) {
+                amounts[month - 1] = matrix.getAmount(row, month);
+            }
+            Map<String, Object> member = new HashMap<>();
+            member.put("id", matrix.getMemberId(row));
+            member.put("name", matrix.getMemberName(row));
+            member.put("paidMask", matrix.getPaidMask(row));
+            member.put("amounts", amounts);
+            member.put("total", matrix.getMemberTotal(row));
+            rows.add(member);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("year", matrix.getYear());
+        data.put("months", monthColumns);
+        data.put("members", rows);
+        return data;
+    }
+}
@@ -9,6 +9,7 @@ import com.eska.motive.crew.ws.exception.InternalErrorException;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.service.AuthService;
+import com.eska.motive.crew.ws.service.EventCalendarService;
 import com.eska.motive.crew.ws.service.EventService;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
@@ -16,9 +17,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -41,6 +46,9 @@ public class EventController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private EventCalendarService eventCalendarService;
+
     /**
      * Get all events
      * GET /api/v1/events
@@ -83,7 +91,7 @@ public class EventController {
             response.put("message", "Events retrieved successfully");
             response.put("error", false);
             response.put("data", events.stream()
-                    .map(this::buildEventResponse)
+                    .map(this::buildEventSummary)
                     .toList());
             response.put("totalElements", events.getTotalElements());
             response.put("totalPages", events.getTotalPages());
@@ -195,7 +203,9 @@ public class EventController {
         
         Map<String, Object> response = new HashMap<>();
         response.put("statusCode", StatusCode.SUCCESS.getCode());
-        response.put("message", "Joined event successfully");
+        response.put("message", participant.getStatus() == EventParticipant.ParticipantStatus.WAITLISTED
+                ? "Event is full, added to the waitlist"
+                : "Joined event successfully");
         response.put("error", false);
         response.put("data", buildParticipantResponse(participant));
         
@@ -236,12 +246,77 @@ public class EventController {
         response.put("message", "Upcoming events retrieved");
         response.put("error", false);
         response.put("data", events.stream()
-                .map(this::buildEventResponse)
+                .map(this::buildEventSummary)
                 .toList());
         
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Get the current user's calendar subscription path
+     * GET /api/v1/events/calendar-feed
+     */
+    @GetMapping("/calendar-feed")
+    public ResponseEntity<Map<String, Object>> getCalendarFeed(
+            @RequestHeader("Authorization") String token)
+            throws ResourceNotFoundException, InternalErrorException {
+        User user = getCurrentUser(token);
+        String feedToken = eventCalendarService.getFeedToken(user);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Calendar feed retrieved");
+        response.put("error", false);
+        response.put("data", buildCalendarFeedResponse(feedToken));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Replace the current user's calendar subscription path; the old one stops working
+     * POST /api/v1/events/calendar-feed/rotate
+     */
+    @PostMapping("/calendar-feed/rotate")
+    public ResponseEntity<Map<String, Object>> rotateCalendarFeed(
+            @RequestHeader("Authorization") String token)
+            throws ResourceNotFoundException, InternalErrorException {
+        User user = getCurrentUser(token);
+        String feedToken = eventCalendarService.rotateFeedToken(user);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Calendar feed rotated");
+        response.put("error", false);
+        response.put("data", buildCalendarFeedResponse(feedToken));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * iCalendar subscription feed, authenticated by the token in the path
+     * GET /api/v1/events/calendar/{token}.ics[?joined=true]
+     */
+    @GetMapping("/calendar/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(
+            @PathVariable String token,
+            @RequestParam(defaultValue = "false") boolean joined,
+            WebRequest webRequest) throws ResourceNotFoundException {
+        User owner = eventCalendarService.getFeedOwner(token);
+        EventCalendarService.FeedVersion version = eventCalendarService.getVersion(owner.getId(), joined);
+        String etag = version.etag(joined);
+        if (webRequest.checkNotModified(etag, version.lastModifiedMillis())) {
+            return null;
+        }
+
+        StreamingResponseBody body = out -> eventCalendarService.writeFeed(owner.getId(), joined, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", java.nio.charset.StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .lastModified(version.lastModifiedMillis())
+                .body(body);
+    }
+
     /**
      * Update event status
      * PUT /api/v1/events/{id}/status
@@ -272,6 +347,18 @@ public class EventController {
     }
 
     private Map<String, Object> buildEventResponse(Event event) {
+        Map<String, Object> data = buildEventSummary(event);
+        List<EventParticipant> participants = event.getParticipants();
+        data.put("participants", participants != null
+                ? participants.stream().map(this::buildParticipantResponse).toList()
+                : java.util.Collections.emptyList());
+        return data;
+    }
+
+    /**
+     * Event fields and participant count, without loading participants (used by list endpoints)
+     */
+    private Map<String, Object> buildEventSummary(Event event) {
         Map<String, Object> data = new HashMap<>();
         data.put("id", event.getId());
         data.put("name", event.getName());
@@ -288,12 +375,19 @@ public class EventController {
         data.put("createdAt", event.getCreatedAt());
         data.put("updatedAt", event.getUpdatedAt());
         data.put("createdBy", buildUserSummary(event.getCreatedBy()));
-        
-        List<EventParticipant> participants = event.getParticipants();
-        data.put("participantsCount", participants != null ? participants.size() : 0);
-        data.put("participants", participants != null
-                ? participants.stream().map(this::buildParticipantResponse).toList()
-                : java.util.Collections.emptyList());
+        data.put("participantsCount", event.getJoinedCount());
+        data.put("capacity", event.getCapacity());
+        data.put("spotsLeft", event.getCapacity() != null
+                ? Math.max(0, event.getCapacity() - event.getJoinedCount())
+                : null);
+        return data;
+    }
+
+    private Map<String, Object> buildCalendarFeedResponse(String feedToken) {
+        String path = "/api/v1/events/calendar/" + feedToken + ".ics";
+        Map<String, Object> data = new HashMap<>();
+        data.put("path", path);
+        data.put("joinedOnlyPath", path + "?joined=true");
         return data;
     }
 
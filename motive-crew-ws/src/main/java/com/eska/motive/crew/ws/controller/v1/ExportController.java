@@ -0,0 +1,140 @@
+package com.eska.motive.crew.ws.controller.v1;
+
+import com.eska.motive.crew.ws.entity.Expense;
+import com.eska.motive.crew.ws.entity.MemberPayment;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.service.AuthService;
+import com.eska.motive.crew.ws.service.ExportService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Streaming CSV / JSON Lines exports (admin only)
+ *
+ * @author Motive Crew Team
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@Log4j2
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * Export members
+     * GET /api/v1/exports/members?format=csv|jsonl[&search=&role=&isActive=]
+     */
+    @GetMapping("/members")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean isActive)
+            throws ResourceNotFoundException, ValidationException {
+        exportService.checkAccess(getCurrentUser(token));
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        User.UserRole userRole = null;
+        if (role != null) {
+            try {
+                userRole = User.UserRole.valueOf(role.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid role, keep as null
+            }
+        }
+
+        User.UserRole roleFilter = userRole;
+        return stream("members", exportFormat,
+                out -> exportService.exportMembers(search, roleFilter, isActive, exportFormat, out));
+    }
+
+    /**
+     * Export member payments
+     * GET /api/v1/exports/payments?format=csv|jsonl[&collectionId=&month=&year=&status=]
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long collectionId,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String status)
+            throws ResourceNotFoundException, ValidationException {
+        exportService.checkAccess(getCurrentUser(token));
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        MemberPayment.PaymentStatus paymentStatus = null;
+        if (status != null) {
+            try {
+                paymentStatus = MemberPayment.PaymentStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid status, keep as null
+            }
+        }
+
+        MemberPayment.PaymentStatus statusFilter = paymentStatus;
+        return stream("payments", exportFormat,
+                out -> exportService.exportPayments(collectionId, month, year, statusFilter, exportFormat, out));
+    }
+
+    /**
+     * Export expenses
+     * GET /api/v1/exports/expenses?format=csv|jsonl[&month=&year=&category=&eventId=&paidById=&search=]
+     */
+    @GetMapping("/expenses")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) Long paidById,
+            @RequestParam(required = false) String search)
+            throws ResourceNotFoundException, ValidationException {
+        exportService.checkAccess(getCurrentUser(token));
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        Expense.ExpenseCategory expenseCategory = null;
+        if (category != null) {
+            try {
+                expenseCategory = Expense.ExpenseCategory.valueOf(category.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid category
+            }
+        }
+
+        Expense.ExpenseCategory categoryFilter = expenseCategory;
+        return stream("expenses", exportFormat,
+                out -> exportService.exportExpenses(month, year, categoryFilter, eventId, paidById, search,
+                        exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format,
+                                                         StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private User getCurrentUser(String token) throws ResourceNotFoundException {
+        String jwtToken = token.startsWith("Bearer ") ? token.substring(7) : token;
+        return authService.getCurrentUser(jwtToken);
+    }
+}
@@ -10,6 +10,7 @@ import com.eska.motive.crew.ws.exception.InternalErrorException;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.service.AuthService;
+import com.eska.motive.crew.ws.service.MemberImportService;
 import com.eska.motive.crew.ws.service.MemberService;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
@@ -38,6 +39,9 @@ public class MemberController {
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private MemberImportService memberImportService;
+
     @Autowired
     private AuthService authService;
 
@@ -234,6 +238,66 @@ public class MemberController {
         }
     }
 
+    /**
+     * Start a bulk member import from a CSV or JSON file
+     * POST /api/v1/members/import[?format=csv|json]
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importMembers(
+            @RequestHeader(value = "Authorization", required = false) String token,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format)
+            throws ResourceNotFoundException, ValidationException, InternalErrorException {
+        User currentUser = getCurrentUser(token);
+        MemberImportService.ImportJob job = memberImportService.startImport(file, format, currentUser);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Member import started");
+        response.put("error", false);
+        response.put("data", buildImportJobResponse(job));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Progress and row errors of a bulk member import
+     * GET /api/v1/members/import/{jobId}
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImportJob(
+            @RequestHeader(value = "Authorization", required = false) String token,
+            @PathVariable String jobId)
+            throws ResourceNotFoundException, ValidationException {
+        User currentUser = getCurrentUser(token);
+        MemberImportService.ImportJob job = memberImportService.getJob(jobId, currentUser);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Member import retrieved");
+        response.put("error", false);
+        response.put("data", buildImportJobResponse(job));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    private Map<String, Object> buildImportJobResponse(MemberImportService.ImportJob job) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("jobId", job.getId());
+        data.put("format", job.getFormat());
+        data.put("status", job.getStatus());
+        data.put("failure", job.getFailure());
+        data.put("createdAt", job.getCreatedAt());
+        data.put("startedAt", job.getStartedAt());
+        data.put("finishedAt", job.getFinishedAt());
+        data.put("rowsRead", job.getRowsRead());
+        data.put("imported", job.getImported());
+        data.put("failed", job.getFailed());
+        data.put("errors", job.getErrors());
+        data.put("errorsTruncated", job.isErrorsTruncated());
+        return data;
+    }
+
     private User getCurrentUser(String token) throws ResourceNotFoundException {
         if (token == null || token.isEmpty()) {
             throw new ResourceNotFoundException(StatusCode.USER_NOT_FOUND);
@@ -222,6 +222,7 @@ public class NotificationController {
         data.put("type", notification.getType());
         data.put("relatedId", notification.getRelatedId());
         data.put("relatedType", notification.getRelatedType());
+        data.put("occurrenceCount", notification.getOccurrenceCount());
         data.put("isRead", notification.getIsRead());
         data.put("createdAt", notification.getCreatedAt());
         data.put("readAt", notification.getReadAt());
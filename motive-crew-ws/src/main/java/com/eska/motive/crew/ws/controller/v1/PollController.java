@@ -3,14 +3,17 @@ package com.eska.motive.crew.ws.controller.v1;
 import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.dto.request.CreatePollRequest;
 import com.eska.motive.crew.ws.dto.request.VotePollRequest;
+import com.eska.motive.crew.ws.dto.response.PollResultSnapshot;
 import com.eska.motive.crew.ws.entity.Poll;
 import com.eska.motive.crew.ws.entity.PollOption;
 import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.enums.PollType;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.service.AuthService;
 import com.eska.motive.crew.ws.service.PollService;
 import com.eska.motive.crew.ws.service.PollService.PollListResult;
+import com.eska.motive.crew.ws.service.PollService.PollResult;
 import com.eska.motive.crew.ws.service.PollService.PollStatsResult;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,13 +40,16 @@ public class PollController {
     public ResponseEntity<Map<String, Object>> getPolls(
             @RequestHeader("Authorization") String token,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String search) throws ResourceNotFoundException {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) throws ResourceNotFoundException {
         User currentUser = getCurrentUser(token);
-        PollListResult result = pollService.listPolls(currentUser, status, search);
+        PollListResult result = pollService.listPolls(currentUser, status, search, cursor, limit);
 
         Map<String, Object> data = new HashMap<>();
-        data.put("items", buildPollItems(result.getPolls(), result.getUserVotes()));
+        data.put("items", buildPollItems(result.getPolls(), result.getOptionsByPoll(), result.getUserVotes()));
         data.put("stats", buildStatsResponse(result.getStats()));
+        data.put("nextCursor", result.getNextCursor());
 
         Map<String, Object> response = new HashMap<>();
         response.put("statusCode", StatusCode.SUCCESS.getCode());
@@ -78,13 +84,33 @@ public class PollController {
             @Valid @RequestBody VotePollRequest request)
             throws ResourceNotFoundException, ValidationException {
         User currentUser = getCurrentUser(token);
-        Poll poll = pollService.vote(currentUser, pollId, request.getOptionId());
+        Poll poll = pollService.vote(currentUser, pollId, request.getOptionId(), request.getOptionIds());
+        List<Long> chosen = request.getOptionIds() != null && !request.getOptionIds().isEmpty()
+                ? request.getOptionIds()
+                : List.of(request.getOptionId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("statusCode", StatusCode.SUCCESS.getCode());
         response.put("message", "Vote submitted successfully");
         response.put("error", false);
-        response.put("data", buildPollResponse(poll, Map.of(poll.getId(), request.getOptionId())));
+        response.put("data", buildPollResponse(poll, Map.of(poll.getId(), chosen)));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/{pollId}/close")
+    public ResponseEntity<Map<String, Object>> closePoll(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long pollId)
+            throws ResourceNotFoundException, ValidationException {
+        User currentUser = getCurrentUser(token);
+        Poll poll = pollService.closePoll(currentUser, pollId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("statusCode", StatusCode.SUCCESS.getCode());
+        response.put("message", "Poll closed successfully");
+        response.put("error", false);
+        response.put("data", buildPollResponse(poll, Collections.emptyMap()));
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
@@ -94,46 +120,45 @@ public class PollController {
         return authService.getCurrentUser(jwtToken);
     }
 
-    private List<Map<String, Object>> buildPollItems(List<Poll> polls, Map<Long, Long> userVotes) {
+    private List<Map<String, Object>> buildPollItems(List<Poll> polls,
+                                                     Map<Long, List<PollOption>> optionsByPoll,
+                                                     Map<Long, List<Long>> userVotes) {
         if (CollectionUtils.isEmpty(polls)) {
             return Collections.emptyList();
         }
         List<Map<String, Object>> items = new ArrayList<>();
         for (Poll poll : polls) {
-            items.add(buildPollResponse(poll, userVotes));
+            items.add(buildPollResponse(poll, optionsByPoll.getOrDefault(poll.getId(), Collections.emptyList()), userVotes));
         }
         return items;
     }
 
-    private Map<String, Object> buildPollResponse(Poll poll, Map<Long, Long> userVotes) {
+    private Map<String, Object> buildPollResponse(Poll poll, Map<Long, List<Long>> userVotes) {
+        return buildPollResponse(poll, poll.getOptions(), userVotes);
+    }
+
+    private Map<String, Object> buildPollResponse(Poll poll, List<PollOption> pollOptions,
+                                                  Map<Long, List<Long>> userVotes) {
         Map<String, Object> data = new HashMap<>();
         data.put("id", poll.getId());
         data.put("title", poll.getTitle());
         data.put("description", poll.getDescription());
         data.put("status", poll.getStatus());
+        data.put("type", poll.getType());
         data.put("expiresAt", poll.getExpiresAt());
         data.put("createdAt", poll.getCreatedAt());
 
-        int totalVotes = poll.getOptions().stream()
-                .mapToInt(PollOption::getVotesCount)
-                .sum();
-        data.put("totalVotes", totalVotes);
-
-        Long userVoteOptionId = userVotes.get(poll.getId());
-        data.put("isVotedByCurrentUser", userVoteOptionId != null);
-        data.put("userVoteOptionId", userVoteOptionId);
+        List<Long> userVoteOptionIds = userVotes.getOrDefault(poll.getId(), Collections.emptyList());
+        data.put("isVotedByCurrentUser", !userVoteOptionIds.isEmpty());
+        data.put("userVoteOptionId", userVoteOptionIds.isEmpty() ? null : userVoteOptionIds.get(0));
+        data.put("userVoteOptionIds", userVoteOptionIds);
 
-        List<Map<String, Object>> options = new ArrayList<>();
-        for (PollOption option : poll.getOptions()) {
-            Map<String, Object> optionMap = new HashMap<>();
-            optionMap.put("id", option.getId());
-            optionMap.put("label", option.getLabel());
-            optionMap.put("votes", option.getVotesCount());
-            double percentage = totalVotes == 0 ? 0 : (option.getVotesCount() * 100.0) / totalVotes;
-            optionMap.put("percentage", percentage);
-            options.add(optionMap);
+        Optional<PollResultSnapshot> snapshot = pollService.getSnapshot(poll);
+        if (snapshot.isPresent()) {
+            putSnapshotResult(data, snapshot.get());
+        } else {
+            putLiveResult(data, poll, pollOptions);
         }
-        data.put("options", options);
 
         if (poll.getCreatedBy() != null) {
             Map<String, Object> createdBy = new HashMap<>();
@@ -146,6 +171,48 @@ public class PollController {
         return data;
     }
 
+    private void putLiveResult(Map<String, Object> data, Poll poll, List<PollOption> pollOptions) {
+        PollResult result = pollService.getResult(poll, pollOptions);
+        long totalVotes = poll.getType() == PollType.SINGLE
+                ? result.getVotes().values().stream().mapToLong(Long::longValue).sum()
+                : result.getVoters();
+        data.put("totalVotes", totalVotes);
+        data.put("winnerOptionId", result.getWinnerOptionId());
+
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (PollOption option : pollOptions) {
+            Map<String, Object> optionMap = new HashMap<>();
+            optionMap.put("id", option.getId());
+            optionMap.put("label", option.getLabel());
+            optionMap.put("votes", result.getVotes().getOrDefault(option.getId(), 0L));
+            optionMap.put("percentage", result.getPercentages().getOrDefault(option.getId(), 0.0));
+            options.add(optionMap);
+        }
+        data.put("options", options);
+        if (!result.getRounds().isEmpty()) {
+            data.put("rounds", result.getRounds());
+        }
+    }
+
+    private void putSnapshotResult(Map<String, Object> data, PollResultSnapshot snapshot) {
+        data.put("totalVotes", snapshot.getTotalVotes());
+        data.put("winnerOptionId", snapshot.getWinnerOptionId());
+
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (PollResultSnapshot.OptionResult option : snapshot.getOptions()) {
+            Map<String, Object> optionMap = new HashMap<>();
+            optionMap.put("id", option.getId());
+            optionMap.put("label", option.getLabel());
+            optionMap.put("votes", option.getVotes());
+            optionMap.put("percentage", option.getPercentage());
+            options.add(optionMap);
+        }
+        data.put("options", options);
+        if (snapshot.getRounds() != null && !snapshot.getRounds().isEmpty()) {
+            data.put("rounds", snapshot.getRounds());
+        }
+    }
+
     private Map<String, Object> buildStatsResponse(PollStatsResult stats) {
         Map<String, Object> statsMap = new HashMap<>();
         if (stats == null) {
@@ -0,0 +1,20 @@
+package com.eska.motive.crew.ws.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AnnouncementSeenBatchRequest {
+
+    @NotNull
+    private Long userId;
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull @Positive Long> announcementIds;
+}
@@ -0,0 +1,50 @@
+package com.eska.motive.crew.ws.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk payment request DTO: record many members as paid for one collection
+ *
+ * @author Motive Crew Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentRequest {
+
+    @NotEmpty(message = "Payments are required")
+    @Size(max = 1000, message = "At most 1000 payments per request")
+    private List<@Valid Entry> payments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        @NotNull(message = "Member ID is required")
+        private Long memberId;
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        private BigDecimal amount;
+
+        private LocalDate paymentDate;
+
+        @Size(max = 500, message = "Notes must not exceed 500 characters")
+        private String notes;
+    }
+}
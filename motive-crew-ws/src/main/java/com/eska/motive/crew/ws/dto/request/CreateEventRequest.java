@@ -2,6 +2,7 @@ package com.eska.motive.crew.ws.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -46,6 +47,9 @@ public class CreateEventRequest {
 
     private BigDecimal estimatedCost;
 
+    @Positive(message = "Capacity must be positive")
+    private Integer capacity; // null = unlimited
+
     @Size(max = 500, message = "Image URL must not exceed 500 characters")
     private String imageUrl;
 }
@@ -25,6 +25,7 @@ public class CreateMemberRequest {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email must be valid")
+    @Size(max = 255, message = "Email must not exceed 255 characters")
     private String email;
 
     @Size(max = 20, message = "Phone must not exceed 20 characters")
@@ -29,5 +29,10 @@ public class CreatePollRequest {
      * ISO date string (yyyy-MM-dd or yyyy-MM-dd'T'HH:mm:ss) representing poll deadline.
      */
     private String expiresAt;
+
+    /**
+     * SINGLE (default), MULTI or RANKED
+     */
+    private String type;
 }
 
@@ -6,13 +6,22 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class VotePollRequest {
 
-    @NotNull(message = "Option ID is required")
+    /**
+     * Chosen option for single-choice polls
+     */
     private Long optionId;
+
+    /**
+     * Selected options for multi-select polls, or options in preference order for ranked polls
+     */
+    private List<@NotNull Long> optionIds;
 }
 
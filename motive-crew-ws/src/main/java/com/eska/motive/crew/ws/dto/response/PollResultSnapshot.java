@@ -0,0 +1,35 @@
+package com.eska.motive.crew.ws.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Final result of a closed poll, stored as JSON on the poll when it closes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollResultSnapshot {
+    private long voters;
+    private long totalVotes;
+    private Long winnerOptionId;
+    private List<OptionResult> options;
+    private List<Map<Long, Long>> rounds;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OptionResult {
+        private Long id;
+        private String label;
+        private long votes;
+        private double percentage;
+    }
+}
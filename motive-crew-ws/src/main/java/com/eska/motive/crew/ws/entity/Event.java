@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,11 +15,19 @@ import java.util.List;
 
 /**
  * Event entity for team activities
+ *
+ * Updated with dynamic SQL so that saving an edited event never writes back a stale
+ * {@code joined_count}; that column is only changed by atomic UPDATE statements.
  * 
  * @author Motive Crew Team
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events",
+       indexes = {
+               @Index(name = "idx_events_date_status_type", columnList = "event_date, status, type"),
+               @Index(name = "idx_events_date_updated", columnList = "event_date, updated_at")
+       })
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -55,6 +64,10 @@ public class Event {
     @Column(name = "estimated_cost", precision = 10, scale = 2)
     private BigDecimal estimatedCost;
 
+    /**
+     * Sum of the expenses linked to this event, maintained by EventCostService; entered by hand
+     * while no expenses are linked
+     */
     @Column(name = "actual_cost", precision = 10, scale = 2)
     private BigDecimal actualCost;
 
@@ -66,6 +79,19 @@ public class Event {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    /**
+     * Number of participants currently JOINED, maintained by EventService on join and leave
+     */
+    @Column(name = "joined_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Integer joinedCount = 0;
+
+    /**
+     * Maximum number of joined participants; null means unlimited. Joiners beyond it are waitlisted.
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
@@ -15,7 +15,11 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "event_participants",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}),
+       indexes = {
+               @Index(name = "idx_event_participants_event_status_joined", columnList = "event_id, status, joined_at"),
+               @Index(name = "idx_event_participants_user_status", columnList = "user_id, status")
+       })
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,7 +52,7 @@ public class EventParticipant {
     }
 
     public enum ParticipantStatus {
-        JOINED, LEFT
+        JOINED, WAITLISTED, LEFT
     }
 }
 
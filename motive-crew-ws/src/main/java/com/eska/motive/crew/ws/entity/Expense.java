@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
  * @author Motive Crew Team
  */
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses",
+       indexes = {
+               @Index(name = "idx_expenses_date_category_amount", columnList = "expense_date, category, amount"),
+               @Index(name = "idx_expenses_event_date", columnList = "event_id, expense_date")
+       })
 @Data
 @Builder
 @NoArgsConstructor
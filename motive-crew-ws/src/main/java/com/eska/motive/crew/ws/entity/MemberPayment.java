@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "member_payments",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "collection_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "collection_id"}),
+       indexes = @Index(name = "idx_member_payments_collection_status_amount",
+                        columnList = "collection_id, status, amount"))
 @Data
 @Builder
 @NoArgsConstructor
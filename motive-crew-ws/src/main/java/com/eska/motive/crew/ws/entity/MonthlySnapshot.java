@@ -0,0 +1,47 @@
+package com.eska.motive.crew.ws.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Frozen monthly report of a locked collection.
+ *
+ * Written when the collection is locked and rewritten when expenses or events dated
+ * in the month change; the payload is the serialized
+ * {@code ReportService.MonthlySummaryDTO} and is served as-is.
+ *
+ * @author Motive Crew Team
+ */
+@Entity
+@Table(name = "monthly_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"year", "month"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySnapshot {
+
+    /**
+     * Same as the id of the collection the snapshot belongs to
+     */
+    @Id
+    @Column(name = "collection_id")
+    private Long collectionId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -46,6 +46,13 @@ public class Notification {
     @Column(name = "related_type", length = 50)
     private String relatedType;
 
+    /**
+     * Number of events merged into this row by the notification coalescer
+     */
+    @Column(name = "occurrence_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 1")
+    @Builder.Default
+    private Integer occurrenceCount = 1;
+
     @Column(name = "is_read", nullable = false)
     @Builder.Default
     private Boolean isRead = false;
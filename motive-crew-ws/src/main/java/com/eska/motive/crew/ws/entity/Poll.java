@@ -1,6 +1,7 @@
 package com.eska.motive.crew.ws.entity;
 
 import com.eska.motive.crew.ws.enums.PollStatus;
+import com.eska.motive.crew.ws.enums.PollType;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -33,8 +34,19 @@ public class Poll {
     @Column(nullable = false, length = 20)
     private PollStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "poll_type", nullable = false, length = 20, columnDefinition = "VARCHAR(20) NOT NULL DEFAULT 'SINGLE'")
+    @Builder.Default
+    private PollType type = PollType.SINGLE;
+
     private LocalDateTime expiresAt;
 
+    /**
+     * Final result as JSON ({@code PollResultSnapshot}), written when the poll closes
+     */
+    @Column(name = "result_snapshot", columnDefinition = "TEXT")
+    private String resultSnapshot;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
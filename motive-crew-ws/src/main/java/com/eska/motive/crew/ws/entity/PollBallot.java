@@ -0,0 +1,45 @@
+package com.eska.motive.crew.ws.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's ballot on a multi-select or ranked-choice poll.
+ *
+ * The ballot is packed into a single number: for multi-select polls bit {@code i}
+ * is set when the option at position {@code i} is selected; for ranked polls each
+ * 4-bit group, lowest first, holds the option position plus one in preference order.
+ */
+@Entity
+@Table(name = "poll_ballots", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"poll_id", "user_id"})
+}, indexes = @Index(name = "idx_poll_ballots_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollBallot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "poll_id")
+    private Poll poll;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private Long ballot;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package com.eska.motive.crew.ws.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row summary of poll activity, kept up to date incrementally
+ * so the poll list does not recount polls and votes on every request
+ */
+@Entity
+@Table(name = "poll_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollStats {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "closed_count", nullable = false)
+    private long closedCount;
+
+    @Column(name = "total_votes", nullable = false)
+    private long totalVotes;
+
+    @Column(name = "distinct_voters", nullable = false)
+    private long distinctVoters;
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "poll_votes", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"poll_id", "user_id"})
-})
+}, indexes = @Index(name = "idx_poll_votes_created_at", columnList = "created_at"))
 @Getter
 @Setter
 @Builder
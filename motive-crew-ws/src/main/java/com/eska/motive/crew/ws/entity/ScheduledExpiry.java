@@ -0,0 +1,41 @@
+package com.eska.motive.crew.ws.entity;
+
+import com.eska.motive.crew.ws.enums.ExpiryTarget;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending expiry of a poll or announcement. Rows are removed once the
+ * target has been transitioned by the expiry scheduler.
+ *
+ * @author Motive Crew Team
+ */
+@Entity
+@Table(name = "scheduled_expiries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"target_type", "target_id"}),
+        indexes = @Index(name = "idx_scheduled_expiries_due_at", columnList = "due_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledExpiry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private ExpiryTarget targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+}
@@ -0,0 +1,33 @@
+package com.eska.motive.crew.ws.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited lease that lets a single node run a background job
+ *
+ * @author Motive Crew Team
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
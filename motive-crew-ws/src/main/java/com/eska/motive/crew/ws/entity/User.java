@@ -62,6 +62,12 @@ public class User {
     @Column(name = "joined_date", nullable = false)
     private LocalDate joinedDate;
 
+    /**
+     * Secret for the user's calendar subscription URL; generated on first request
+     */
+    @Column(name = "calendar_token", unique = true, length = 64)
+    private String calendarToken;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,9 @@
+package com.eska.motive.crew.ws.enums;
+
+/**
+ * Kinds of records whose expiry is driven by the expiry scheduler
+ */
+public enum ExpiryTarget {
+    POLL,
+    ANNOUNCEMENT
+}
@@ -0,0 +1,10 @@
+package com.eska.motive.crew.ws.enums;
+
+/**
+ * Ballot types for polls
+ */
+public enum PollType {
+    SINGLE,
+    MULTI,
+    RANKED
+}
@@ -55,6 +55,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			path.startsWith("/api/v1/auth/signup") ||
 			path.startsWith("/uploads/") ||
 			path.startsWith("/api/v1/uploads/") ||
+			path.startsWith("/api/v1/events/calendar/") ||
 			path.startsWith("/actuator/") ||
 			path.startsWith("/error") ||
 			path.startsWith("/swagger-ui/") ||
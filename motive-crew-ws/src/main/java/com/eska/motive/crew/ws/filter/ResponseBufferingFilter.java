@@ -29,6 +29,16 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class ResponseBufferingFilter extends OncePerRequestFilter {
 
+	/**
+	 * Streamed responses (calendar feeds, exports) must reach the client as they are
+	 * written; buffering them would hold the whole body in memory
+	 */
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		return path != null && (path.startsWith("/api/v1/events/calendar/") || path.startsWith("/api/v1/exports/"));
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
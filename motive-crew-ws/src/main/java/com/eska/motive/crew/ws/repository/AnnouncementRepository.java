@@ -1,12 +1,15 @@
 package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.Announcement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +22,18 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
 
     List<Announcement> findByIsActiveTrueOrderByCreatedAtDesc();
 
+    @Query("select a.id from Announcement a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select a from Announcement a
+            left join fetch a.team
+            where a.isActive = true
+              and (a.expiresAt is null or a.expiresAt >= :now)
+            order by a.createdAt desc
+            """)
+    List<Announcement> findActiveWithTeam(@Param("now") LocalDateTime now);
+
     @Query("""
             select a from Announcement a
             where a.isActive = false
@@ -27,8 +42,13 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
             """)
     List<Announcement> findArchivedAnnouncements(@Param("now") LocalDateTime now);
 
+    /**
+     * Pending announcements straight from the database, used when the seen index is
+     * unavailable; the team is fetched so the result maps without a session
+     */
     @Query("""
             select a from Announcement a
+            left join fetch a.team
             where a.isActive = true
               and (a.expiresAt is null or a.expiresAt >= :now)
               and (
@@ -44,6 +64,18 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
             """)
     List<Announcement> findPendingAnnouncementsForUser(@Param("userId") Long userId,
                                                        @Param("teamId") Long teamId,
-                                                       @Param("now") LocalDateTime now);
-}
+                                                       @Param("now") LocalDateTime now,
+                                                       Pageable pageable);
 
+    /**
+     * Archive the given announcements if they are still active and past their expiry
+     */
+    @Modifying
+    @Query("""
+            update Announcement a set a.isActive = false, a.updatedAt = :now
+            where a.id in :ids
+              and a.isActive = true
+              and a.expiresAt <= :now
+            """)
+    int archiveExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -3,9 +3,17 @@ package com.eska.motive.crew.ws.repository;
 import com.eska.motive.crew.ws.entity.Event;
 import com.eska.motive.crew.ws.entity.EventParticipant;
 import com.eska.motive.crew.ws.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,5 +32,68 @@ public interface EventParticipantRepository extends JpaRepository<EventParticipa
     List<EventParticipant> findByUser(User user);
 
     long countByEventAndStatus(Event event, EventParticipant.ParticipantStatus status);
-}
 
+    /**
+     * Claim a participation row for a new joiner, waitlisted until a seat is taken.
+     * The unique (event_id, user_id) key makes concurrent double joins a no-op.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO event_participants (event_id, user_id, joined_at, status) " +
+                   "VALUES (:eventId, :userId, :now, 'WAITLISTED')", nativeQuery = true)
+    int insertWaitlisted(@Param("eventId") Long eventId,
+                         @Param("userId") Long userId,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Re-claim the row of a member who left, putting them at the back of the waitlist
+     */
+    @Modifying
+    @Query(value = "UPDATE event_participants SET joined_at = :now, status = 'WAITLISTED' " +
+                   "WHERE event_id = :eventId AND user_id = :userId AND status = 'LEFT'", nativeQuery = true)
+    int rejoinWaitlisted(@Param("eventId") Long eventId,
+                         @Param("userId") Long userId,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Move a waitlisted participant to JOINED; 0 if they were already promoted or left
+     */
+    @Modifying
+    @Query(value = "UPDATE event_participants SET status = 'JOINED' " +
+                   "WHERE event_id = :eventId AND user_id = :userId AND status = 'WAITLISTED'", nativeQuery = true)
+    int promote(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    /**
+     * Mark a participant as LEFT if they are still in {@code fromStatus}; 0 if a concurrent request got there first
+     */
+    @Modifying
+    @Query(value = "UPDATE event_participants SET status = 'LEFT' " +
+                   "WHERE event_id = :eventId AND user_id = :userId AND status = :fromStatus", nativeQuery = true)
+    int markLeft(@Param("eventId") Long eventId,
+                 @Param("userId") Long userId,
+                 @Param("fromStatus") String fromStatus);
+
+    /**
+     * Head of the waitlist (first come, first served), locked for promotion
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM EventParticipant p JOIN FETCH p.user " +
+           "WHERE p.event.id = :eventId " +
+           "AND p.status = com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus.WAITLISTED " +
+           "ORDER BY p.joinedAt ASC, p.id ASC")
+    List<EventParticipant> findWaitlistHeadForUpdate(@Param("eventId") Long eventId, Pageable pageable);
+
+    /**
+     * Number of events each of the given users has joined; users with none are absent
+     */
+    @Query("SELECT p.user.id AS userId, COUNT(p) AS joined FROM EventParticipant p " +
+           "WHERE p.user.id IN :userIds " +
+           "AND p.status = com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus.JOINED " +
+           "GROUP BY p.user.id")
+    List<JoinedCount> countJoinedByUsers(@Param("userIds") Collection<Long> userIds);
+
+    interface JoinedCount {
+        Long getUserId();
+
+        Long getJoined();
+    }
+}
@@ -1,15 +1,22 @@
 package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Event entity
@@ -19,22 +26,128 @@ import java.util.List;
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
-    @Query("SELECT e FROM Event e WHERE " +
+    /**
+     * Filtered page of events. Dates are matched on the half-open range {@code [from, to)}
+     * so idx_events_date_status_type is usable; {@code month} is only for a month given
+     * without a year (see {@link com.eska.motive.crew.ws.util.DateRange}).
+     */
+    @Query(value = "SELECT e FROM Event e LEFT JOIN FETCH e.createdBy WHERE " +
            "(:status IS NULL OR e.status = :status) AND " +
            "(:type IS NULL OR e.type = :type) AND " +
+           "(:from IS NULL OR e.eventDate >= :from) AND " +
+           "(:to IS NULL OR e.eventDate < :to) AND " +
+           "(:month IS NULL OR MONTH(e.eventDate) = :month) AND " +
+           "(:search IS NULL OR LOWER(e.name) LIKE LOWER(CONCAT('%', :search, '%')))",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE " +
+           "(:status IS NULL OR e.status = :status) AND " +
+           "(:type IS NULL OR e.type = :type) AND " +
+           "(:from IS NULL OR e.eventDate >= :from) AND " +
+           "(:to IS NULL OR e.eventDate < :to) AND " +
            "(:month IS NULL OR MONTH(e.eventDate) = :month) AND " +
-           "(:year IS NULL OR YEAR(e.eventDate) = :year) AND " +
            "(:search IS NULL OR LOWER(e.name) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Event> findByFilters(
             @Param("status") Event.EventStatus status,
             @Param("type") Event.EventType type,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
             @Param("month") Integer month,
-            @Param("year") Integer year,
             @Param("search") String search,
             Pageable pageable
     );
 
-    List<Event> findByEventDateAfterAndStatusOrderByEventDateAsc(LocalDate date, Event.EventStatus status);
+    long countByEventDateGreaterThanEqualAndEventDateLessThan(LocalDate from, LocalDate to);
+
+    /**
+     * First page of events after {@code date}, soonest first; the limit is applied in SQL
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    List<Event> findByEventDateAfterAndStatusOrderByEventDateAscIdAsc(LocalDate date, Event.EventStatus status,
+                                                                       Pageable pageable);
+
+    /**
+     * Event with its creator and participants (and their users) in a single query
+     */
+    @Query("SELECT DISTINCT e FROM Event e " +
+           "LEFT JOIN FETCH e.createdBy " +
+           "LEFT JOIN FETCH e.participants p " +
+           "LEFT JOIN FETCH p.user " +
+           "WHERE e.id = :id")
+    Optional<Event> findByIdWithParticipants(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.joinedCount = e.joinedCount + :delta WHERE e.id = :id")
+    int adjustJoinedCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Add {@code delta} to the running sum of linked expenses; NULL stands for no cost yet
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET actual_cost = NULLIF(COALESCE(actual_cost, 0) + :delta, 0) WHERE id = :id",
+           nativeQuery = true)
+    int adjustActualCost(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    /**
+     * Set the actual cost outright, e.g. when the first expense is linked and replaces a
+     * hand-entered cost
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.actualCost = :amount WHERE e.id = :id")
+    int setActualCost(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Set the actual cost of every event that has linked expenses to their sum. Events
+     * without linked expenses are left alone, so a hand-entered cost survives.
+     *
+     * @return number of events whose stored cost was wrong
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE events e
+            JOIN (SELECT event_id, SUM(amount) AS total FROM expenses
+                  WHERE event_id IS NOT NULL GROUP BY event_id) x ON x.event_id = e.id
+            SET e.actual_cost = NULLIF(x.total, 0)
+            WHERE NOT (e.actual_cost <=> NULLIF(x.total, 0))
+            """, nativeQuery = true)
+    int reconcileActualCosts();
+
+    /**
+     * Event locked until the end of the transaction. Join and leave take this lock first,
+     * so every seat and waitlist change on one event acquires row locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Take a seat if the event has room
+     *
+     * @return 1 if a seat was taken, 0 if the event is full
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.joinedCount = e.joinedCount + 1 " +
+           "WHERE e.id = :id AND (e.capacity IS NULL OR e.joinedCount < e.capacity)")
+    int tryTakeSeat(@Param("id") Long id);
+
+    /**
+     * Give up a seat without refilling it when capacity was lowered below the joined count
+     *
+     * @return 1 if the event was over capacity and the seat was dropped, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.joinedCount = e.joinedCount - 1 " +
+           "WHERE e.id = :id AND e.capacity IS NOT NULL AND e.joinedCount > e.capacity")
+    int releaseSeatIfOverCapacity(@Param("id") Long id);
+
+    /**
+     * Recompute joined_count for every event from event_participants
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events e SET e.joined_count = " +
+           "(SELECT COUNT(*) FROM event_participants p WHERE p.event_id = e.id AND p.status = 'JOINED')",
+           nativeQuery = true)
+    int recountJoined();
 
     List<Event> findByEventDateBeforeAndStatusOrderByEventDateDesc(LocalDate date, Event.EventStatus status);
 
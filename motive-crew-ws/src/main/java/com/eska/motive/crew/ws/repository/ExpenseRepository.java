@@ -23,15 +23,17 @@ import java.util.List;
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     @Query("SELECT e FROM Expense e WHERE " +
+           "(:from IS NULL OR e.expenseDate >= :from) AND " +
+           "(:to IS NULL OR e.expenseDate < :to) AND " +
            "(:month IS NULL OR MONTH(e.expenseDate) = :month) AND " +
-           "(:year IS NULL OR YEAR(e.expenseDate) = :year) AND " +
            "(:category IS NULL OR e.category = :category) AND " +
            "(:eventId IS NULL OR e.event.id = :eventId) AND " +
            "(:paidById IS NULL OR e.paidBy.id = :paidById) AND " +
            "(:search IS NULL OR LOWER(e.title) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Expense> findByFilters(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
             @Param("month") Integer month,
-            @Param("year") Integer year,
             @Param("category") Expense.ExpenseCategory category,
             @Param("eventId") Long eventId,
             @Param("paidById") Long paidById,
@@ -41,15 +43,22 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     List<Expense> findByEvent(Event event);
 
+    boolean existsByEvent_Id(Long eventId);
+
+    boolean existsByEvent_IdAndIdNot(Long eventId, Long id);
+
     List<Expense> findByPaidBy(User user);
 
+    /**
+     * Total spent in {@code [from, to)}; answered from idx_expenses_date_category_amount alone
+     */
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE " +
-           "MONTH(e.expenseDate) = :month AND YEAR(e.expenseDate) = :year")
-    BigDecimal getTotalSpentByMonth(@Param("month") Integer month, @Param("year") Integer year);
+           "e.expenseDate >= :from AND e.expenseDate < :to")
+    BigDecimal getTotalSpentBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
     @Query("SELECT e.category, SUM(e.amount) FROM Expense e WHERE " +
-           "MONTH(e.expenseDate) = :month AND YEAR(e.expenseDate) = :year " +
+           "e.expenseDate >= :from AND e.expenseDate < :to " +
            "GROUP BY e.category")
-    List<Object[]> getExpensesByCategory(@Param("month") Integer month, @Param("year") Integer year);
+    List<Object[]> getExpensesByCategoryBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
 
@@ -3,9 +3,15 @@ package com.eska.motive.crew.ws.repository;
 import com.eska.motive.crew.ws.entity.MemberPayment;
 import com.eska.motive.crew.ws.entity.MonthlyCollection;
 import com.eska.motive.crew.ws.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +25,63 @@ public interface MemberPaymentRepository extends JpaRepository<MemberPayment, Lo
 
     Optional<MemberPayment> findByUserAndCollection(User user, MonthlyCollection collection);
 
+    @EntityGraph(attributePaths = "user")
     List<MemberPayment> findByCollection(MonthlyCollection collection);
 
     List<MemberPayment> findByUser(User user);
 
     long countByCollectionAndStatus(MonthlyCollection collection, MemberPayment.PaymentStatus status);
+
+    /**
+     * Paid total and count for a collection plus the active member count, in one query
+     */
+    @Query(value = """
+            SELECT COALESCE(SUM(CASE WHEN p.status = 'PAID' THEN p.amount END), 0) AS totalCollected,
+                   COUNT(CASE WHEN p.status = 'PAID' THEN 1 END) AS membersPaid,
+                   (SELECT COUNT(*) FROM users u WHERE u.is_active = TRUE) AS activeMembers
+            FROM member_payments p
+            WHERE p.collection_id = :collectionId
+            """, nativeQuery = true)
+    CollectionTotals getCollectionTotals(@Param("collectionId") Long collectionId);
+
+    /**
+     * Payment dates of the given users who paid the given month; users who did not are absent
+     */
+    @Query("SELECT p.user.id AS userId, p.paymentDate AS paymentDate FROM MemberPayment p " +
+           "WHERE p.collection.year = :year AND p.collection.month = :month " +
+           "AND p.status = com.eska.motive.crew.ws.entity.MemberPayment.PaymentStatus.PAID " +
+           "AND p.user.id IN :userIds")
+    List<PaidMonth> findPaidInMonth(@Param("year") Integer year,
+                                    @Param("month") Integer month,
+                                    @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Total paid by each of the given users over all months; users who never paid are absent
+     */
+    @Query("SELECT p.user.id AS userId, SUM(p.amount) AS total FROM MemberPayment p " +
+           "WHERE p.user.id IN :userIds " +
+           "AND p.status = com.eska.motive.crew.ws.entity.MemberPayment.PaymentStatus.PAID " +
+           "GROUP BY p.user.id")
+    List<PaidTotal> sumPaidByUsers(@Param("userIds") Collection<Long> userIds);
+
+    interface PaidMonth {
+        Long getUserId();
+
+        LocalDate getPaymentDate();
+    }
+
+    interface PaidTotal {
+        Long getUserId();
+
+        BigDecimal getTotal();
+    }
+
+    interface CollectionTotals {
+        BigDecimal getTotalCollected();
+
+        Long getMembersPaid();
+
+        Long getActiveMembers();
+    }
 }
 
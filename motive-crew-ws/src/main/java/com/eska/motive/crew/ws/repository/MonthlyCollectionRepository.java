@@ -1,9 +1,17 @@
 package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,5 +25,44 @@ public interface MonthlyCollectionRepository extends JpaRepository<MonthlyCollec
     Optional<MonthlyCollection> findByYearAndMonth(Integer year, Integer month);
 
     boolean existsByYearAndMonth(Integer year, Integer month);
-}
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM MonthlyCollection c WHERE c.year = :year AND c.month = :month")
+    Optional<MonthlyCollection> findByYearAndMonthForUpdate(@Param("year") Integer year,
+                                                            @Param("month") Integer month);
+
+    /**
+     * Create the collection for a month unless it exists; concurrent callers are
+     * absorbed by the unique (year, month) key. INSERT IGNORE rather than a no-op
+     * ON DUPLICATE KEY UPDATE, which reports 1 under useAffectedRows=false
+     * (the Connector/J default).
+     *
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO monthly_collections (year, month, target_amount, is_locked, created_at, updated_at) " +
+                   "VALUES (:year, :month, :targetAmount, FALSE, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("year") Integer year,
+                       @Param("month") Integer month,
+                       @Param("targetAmount") BigDecimal targetAmount,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Open collections for months before {@code year}/{@code month}
+     */
+    @Query("SELECT c.id FROM MonthlyCollection c WHERE c.isLocked = false AND " +
+           "(c.year < :year OR (c.year = :year AND c.month < :month))")
+    List<Long> findOpenIdsBefore(@Param("year") Integer year, @Param("month") Integer month);
+
+    /**
+     * Year and month of every locked collection
+     */
+    @Query("SELECT c.year AS year, c.month AS month FROM MonthlyCollection c WHERE c.isLocked = true")
+    List<LockedMonth> findLockedMonths();
+
+    interface LockedMonth {
+        Integer getYear();
+
+        Integer getMonth();
+    }
+}
@@ -0,0 +1,59 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.MonthlySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for MonthlySnapshot entity
+ *
+ * @author Motive Crew Team
+ */
+@Repository
+public interface MonthlySnapshotRepository extends JpaRepository<MonthlySnapshot, Long> {
+
+    /**
+     * Store a snapshot unless one exists; the first one written wins.
+     * Runs in its own transaction as it is called after the locking one has committed.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT IGNORE INTO monthly_snapshots (collection_id, year, month, payload, created_at) " +
+                   "VALUES (:collectionId, :year, :month, :payload, :now)", nativeQuery = true)
+    int insertIgnore(@Param("collectionId") Long collectionId,
+                     @Param("year") Integer year,
+                     @Param("month") Integer month,
+                     @Param("payload") String payload,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Store a snapshot, replacing the one there. Only used while holding the
+     * collection's row lock (see {@code ReportService.refreshSnapshot}).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_snapshots (collection_id, year, month, payload, created_at) " +
+                   "VALUES (:collectionId, :year, :month, :payload, :now) " +
+                   "ON DUPLICATE KEY UPDATE payload = VALUES(payload), created_at = VALUES(created_at)",
+            nativeQuery = true)
+    int upsert(@Param("collectionId") Long collectionId,
+               @Param("year") Integer year,
+               @Param("month") Integer month,
+               @Param("payload") String payload,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Drop a month's snapshot so it is built again from the live tables.
+     * Runs in its own transaction as it is called after the changing one has committed.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "DELETE FROM monthly_snapshots WHERE year = :year AND month = :month", nativeQuery = true)
+    int deleteByYearAndMonth(@Param("year") Integer year, @Param("month") Integer month);
+}
@@ -0,0 +1,64 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.PollBallot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PollBallotRepository extends JpaRepository<PollBallot, Long> {
+
+    /**
+     * Record a ballot unless the user has already voted on the poll (unique poll_id, user_id)
+     *
+     * @return 1 if the ballot was recorded, 0 if the user had already voted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO poll_ballots (poll_id, user_id, ballot, created_at)
+            VALUES (:pollId, :userId, :ballot, :createdAt)
+            """, nativeQuery = true)
+    int insertIgnore(@Param("pollId") Long pollId,
+                     @Param("userId") Long userId,
+                     @Param("ballot") long ballot,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("""
+            select b.id as id, b.user.id as userId, b.ballot as ballot
+            from PollBallot b
+            where b.poll.id = :pollId and b.id > :afterId
+            order by b.id
+            """)
+    List<BallotView> findBallotsAfter(@Param("pollId") Long pollId, @Param("afterId") long afterId);
+
+    @Query("""
+            select b.id as id, b.poll.id as pollId, b.ballot as ballot
+            from PollBallot b
+            where b.user.id = :userId and b.poll.id in :pollIds
+            """)
+    List<UserBallotView> findUserBallots(@Param("userId") Long userId, @Param("pollIds") Collection<Long> pollIds);
+
+    long countByPoll_Id(Long pollId);
+
+    interface BallotView {
+        Long getId();
+
+        Long getUserId();
+
+        Long getBallot();
+    }
+
+    interface UserBallotView {
+        Long getId();
+
+        Long getPollId();
+
+        Long getBallot();
+    }
+}
@@ -2,9 +2,42 @@ package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.PollOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface PollOptionRepository extends JpaRepository<PollOption, Long> {
-}
 
+    @Query("""
+            select o from PollOption o
+            where o.poll.id in :pollIds
+            order by o.poll.id, o.position, o.id
+            """)
+    List<PollOption> findByPollIds(@Param("pollIds") Collection<Long> pollIds);
+
+    /**
+     * Reset the stored counts of single-choice options to their vote rows, for polls
+     * with no vote since {@code settledBefore}. The tally has flushed those votes by
+     * then, unless the node holding them stopped first: that lost delta is what this
+     * repairs. Multi-select and ranked options are set from their ballots when the poll
+     * closes and are left alone.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE poll_options o
+            JOIN polls p ON p.id = o.poll_id AND p.poll_type = 'SINGLE'
+            SET o.votes_count = (SELECT COUNT(*) FROM poll_votes v WHERE v.option_id = o.id)
+            WHERE o.votes_count <> (SELECT COUNT(*) FROM poll_votes v WHERE v.option_id = o.id)
+              AND NOT EXISTS (SELECT 1 FROM poll_votes r
+                              WHERE r.poll_id = o.poll_id AND r.created_at >= :settledBefore)
+            """, nativeQuery = true)
+    int recountSettled(@Param("settledBefore") LocalDateTime settledBefore);
+}
@@ -2,9 +2,16 @@ package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.Poll;
 import com.eska.motive.crew.ws.enums.PollStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,5 +26,40 @@ public interface PollRepository extends JpaRepository<Poll, Long> {
     List<Poll> findByStatusAndTitleContainingIgnoreCaseOrderByCreatedAtDesc(PollStatus status, String search);
 
     long countByStatus(PollStatus status);
-}
 
+    /**
+     * Keyset page of polls, newest first; pass the last id of the previous page as {@code cursor}
+     */
+    @Query("""
+            select p from Poll p
+            left join fetch p.createdBy
+            where (:status is null or p.status = :status)
+              and (:search is null or lower(p.title) like lower(concat('%', :search, '%')))
+              and (:cursor is null or p.id < :cursor)
+            order by p.id desc
+            """)
+    List<Poll> findPage(@Param("status") PollStatus status,
+                        @Param("search") String search,
+                        @Param("cursor") Long cursor,
+                        Pageable pageable);
+
+    /**
+     * Lock the given polls that are still active and past their deadline, so they can be closed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p from Poll p
+            where p.id in :ids
+              and p.status = com.eska.motive.crew.ws.enums.PollStatus.ACTIVE
+              and p.expiresAt <= :now
+            """)
+    List<Poll> findExpiredActiveForUpdate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p from Poll p
+            where p.id = :id
+              and p.status = com.eska.motive.crew.ws.enums.PollStatus.ACTIVE
+            """)
+    List<Poll> findActiveForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,75 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.PollStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PollStatsRepository extends JpaRepository<PollStats, Long> {
+
+    @Modifying
+    @Query(value = """
+            UPDATE poll_stats
+            SET active_count = active_count + :active,
+                closed_count = closed_count + :closed,
+                total_votes = total_votes + :votes,
+                distinct_voters = distinct_voters + :voters
+            WHERE id = 1
+            """, nativeQuery = true)
+    int adjust(@Param("active") long active,
+               @Param("closed") long closed,
+               @Param("votes") long votes,
+               @Param("voters") long voters);
+
+    /**
+     * Create the row from the source tables if it does not exist yet
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO poll_stats (id, active_count, closed_count, total_votes, distinct_voters)
+            SELECT 1,
+                   (SELECT COUNT(*) FROM polls WHERE status = 'ACTIVE'),
+                   (SELECT COUNT(*) FROM polls WHERE status = 'CLOSED'),
+                   (SELECT COUNT(*) FROM poll_votes) + (SELECT COUNT(*) FROM poll_ballots),
+                   (SELECT COUNT(*) FROM (SELECT user_id FROM poll_votes UNION SELECT user_id FROM poll_ballots) v)
+            """, nativeQuery = true)
+    int initialize();
+
+    /**
+     * Recompute the poll counts and distinct voters from the source tables. The vote
+     * total is left alone: counting vote rows would include votes still waiting in a
+     * node's tally, which its next flush then adds again.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE poll_stats
+            SET active_count = (SELECT COUNT(*) FROM polls WHERE status = 'ACTIVE'),
+                closed_count = (SELECT COUNT(*) FROM polls WHERE status = 'CLOSED'),
+                distinct_voters = (SELECT COUNT(*) FROM (SELECT user_id FROM poll_votes UNION SELECT user_id FROM poll_ballots) v)
+            WHERE id = 1
+            """, nativeQuery = true)
+    int recompute();
+
+    /**
+     * Reset the vote total to the vote and ballot rows, provided nothing was voted since
+     * {@code settledBefore}: only then can no node still hold a delta for them.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE poll_stats
+            SET total_votes = (SELECT COUNT(*) FROM poll_votes) + (SELECT COUNT(*) FROM poll_ballots)
+            WHERE id = 1
+              AND NOT EXISTS (SELECT 1 FROM poll_votes WHERE created_at >= :settledBefore)
+              AND NOT EXISTS (SELECT 1 FROM poll_ballots WHERE created_at >= :settledBefore)
+            """, nativeQuery = true)
+    int recountVotesIfSettled(@Param("settledBefore") LocalDateTime settledBefore);
+}
@@ -4,9 +4,12 @@ import com.eska.motive.crew.ws.entity.Poll;
 import com.eska.motive.crew.ws.entity.PollVote;
 import com.eska.motive.crew.ws.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +22,36 @@ public interface PollVoteRepository extends JpaRepository<PollVote, Long> {
 
     long countByPoll(Poll poll);
 
+    @Query("""
+            select pv.option.id as optionId, count(pv) as votes
+            from PollVote pv
+            where pv.poll.id = :pollId
+            group by pv.option.id
+            """)
+    List<OptionVoteCount> countVotesByOption(@Param("pollId") Long pollId);
+
+    interface OptionVoteCount {
+        Long getOptionId();
+
+        Long getVotes();
+    }
+
     @Query("SELECT COUNT(DISTINCT pv.user.id) FROM PollVote pv")
     long countDistinctUserIds();
+
+    /**
+     * Record a vote unless the user has already voted on the poll (unique poll_id, user_id)
+     *
+     * @return 1 if the vote was recorded, 0 if the user had already voted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO poll_votes (poll_id, option_id, user_id, created_at)
+            VALUES (:pollId, :optionId, :userId, :createdAt)
+            """, nativeQuery = true)
+    int insertIgnore(@Param("pollId") Long pollId,
+                     @Param("optionId") Long optionId,
+                     @Param("userId") Long userId,
+                     @Param("createdAt") LocalDateTime createdAt);
 }
 
@@ -0,0 +1,65 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.ScheduledExpiry;
+import com.eska.motive.crew.ws.enums.ExpiryTarget;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for ScheduledExpiry entity
+ *
+ * @author Motive Crew Team
+ */
+@Repository
+public interface ScheduledExpiryRepository extends JpaRepository<ScheduledExpiry, Long> {
+
+    List<ScheduledExpiry> findByDueAtLessThanEqualOrderByDueAtAsc(LocalDateTime dueBefore, Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO scheduled_expiries (target_type, target_id, due_at)
+            VALUES (:targetType, :targetId, :dueAt)
+            ON DUPLICATE KEY UPDATE due_at = VALUES(due_at)
+            """, nativeQuery = true)
+    int upsert(@Param("targetType") String targetType,
+               @Param("targetId") Long targetId,
+               @Param("dueAt") LocalDateTime dueAt);
+
+    @Modifying
+    @Query("delete from ScheduledExpiry se where se.targetType = :targetType and se.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") ExpiryTarget targetType, @Param("targetId") Long targetId);
+
+    /**
+     * Remove rows that have been processed; rows rescheduled to a later deadline are kept
+     */
+    @Modifying
+    @Query("""
+            delete from ScheduledExpiry se
+            where se.targetType = :targetType and se.targetId in :targetIds and se.dueAt <= :now
+            """)
+    int deleteDue(@Param("targetType") ExpiryTarget targetType,
+                  @Param("targetIds") Collection<Long> targetIds,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Register active polls and announcements created before the scheduler existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO scheduled_expiries (target_type, target_id, due_at)
+            SELECT 'POLL', p.id, p.expires_at FROM polls p
+            WHERE p.status = 'ACTIVE' AND p.expires_at IS NOT NULL
+            UNION ALL
+            SELECT 'ANNOUNCEMENT', a.id, a.expires_at FROM announcements a
+            WHERE a.is_active = TRUE AND a.expires_at IS NOT NULL
+            """, nativeQuery = true)
+    int backfill();
+}
@@ -0,0 +1,39 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for SchedulerLease entity
+ *
+ * @author Motive Crew Team
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (name, owner, lease_until) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name,
+                       @Param("owner") String owner,
+                       @Param("until") LocalDateTime until);
+
+    /**
+     * Take over or renew the lease if it is ours or has lapsed
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduler_leases SET owner = :owner, lease_until = :until
+            WHERE name = :name AND (owner = :owner OR lease_until < :now)
+            """, nativeQuery = true)
+    int claim(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+}
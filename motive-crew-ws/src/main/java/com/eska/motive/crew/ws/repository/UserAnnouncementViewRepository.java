@@ -2,8 +2,15 @@ package com.eska.motive.crew.ws.repository;
 
 import com.eska.motive.crew.ws.entity.UserAnnouncementView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for tracking seen announcements per user.
  */
@@ -11,6 +18,23 @@ import org.springframework.stereotype.Repository;
 public interface UserAnnouncementViewRepository extends JpaRepository<UserAnnouncementView, Long> {
 
     boolean existsByUser_IdAndAnnouncement_Id(Long userId, Long announcementId);
-}
 
+    @Query("select uav.announcement.id from UserAnnouncementView uav where uav.user.id = :userId")
+    List<Long> findAnnouncementIdsByUserId(@Param("userId") Long userId);
 
+    /**
+     * Record several announcements as seen in one statement. Rows that already exist
+     * are skipped by the unique (user_id, announcement_id) key and ids that do not
+     * match an announcement are dropped by the select.
+     *
+     * @return number of newly recorded views
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO user_announcement_views (user_id, announcement_id, seen_at)
+            SELECT :userId, a.id, :seenAt FROM announcements a WHERE a.id IN (:announcementIds)
+            """, nativeQuery = true)
+    int insertIgnoreSeen(@Param("userId") Long userId,
+                         @Param("announcementIds") Collection<Long> announcementIds,
+                         @Param("seenAt") LocalDateTime seenAt);
+}
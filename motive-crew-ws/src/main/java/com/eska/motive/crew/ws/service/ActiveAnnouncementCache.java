@@ -0,0 +1,194 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.response.AnnouncementDTO;
+import com.eska.motive.crew.ws.enums.AnnouncementAudience;
+import com.eska.motive.crew.ws.mapper.AnnouncementMapper;
+import com.eska.motive.crew.ws.repository.AnnouncementRepository;
+import com.eska.motive.crew.ws.util.HashedTimingWheel;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory view of the active (non-archived, non-expired) announcements.
+ *
+ * The active set is held as an immutable snapshot partitioned by audience and team,
+ * so reads are a volatile lookup with no locking and no database access. The
+ * snapshot is rebuilt from the database after announcement writes commit, and a
+ * timing wheel drops each announcement from the snapshot when it reaches its
+ * {@code expiresAt}.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class ActiveAnnouncementCache {
+
+    private static final Comparator<AnnouncementDTO> NEWEST_FIRST =
+            Comparator.comparing(AnnouncementDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private AnnouncementMapper announcementMapper;
+
+    @Value("${announcements.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${announcements.expiry.wheel-size:512}")
+    private int wheelSize;
+
+    private HashedTimingWheel<Long> expiryWheel;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void start() {
+        expiryWheel = new HashedTimingWheel<>("announcement-expiry", tickMs, wheelSize);
+        expiryWheel.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        expiryWheel.stop();
+    }
+
+    /**
+     * Active announcements visible to a team (company-wide plus the team's own),
+     * or every active announcement when {@code teamId} is null
+     */
+    public List<AnnouncementDTO> getActive(Long teamId) {
+        Snapshot current = currentSnapshot();
+        if (teamId == null) {
+            return current.all();
+        }
+        return current.byTeam().getOrDefault(teamId, current.company());
+    }
+
+    /**
+     * Active announcements a member of {@code teamId} should see; members without a
+     * team only see company-wide announcements
+     */
+    public List<AnnouncementDTO> getVisibleTo(Long teamId) {
+        Snapshot current = currentSnapshot();
+        if (teamId == null) {
+            return current.company();
+        }
+        return current.byTeam().getOrDefault(teamId, current.company());
+    }
+
+    /**
+     * Rebuild the snapshot once the current transaction commits (or immediately
+     * when called outside a transaction)
+     */
+    public void refreshAfterCommit() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    /**
+     * Periodic full reload so that writes made by other nodes are picked up
+     */
+    @Scheduled(fixedDelayString = "${announcements.cache.refresh-ms:60000}",
+            initialDelayString = "${announcements.cache.refresh-ms:60000}")
+    public synchronized void reload() {
+        try {
+            List<AnnouncementDTO> active = announcementRepository.findActiveWithTeam(LocalDateTime.now())
+                    .stream()
+                    .map(announcementMapper::toDto)
+                    .toList();
+            install(active);
+        } catch (Exception e) {
+            log.error("Error reloading active announcements", e);
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current != null ? current : Snapshot.EMPTY;
+    }
+
+    private synchronized void install(List<AnnouncementDTO> active) {
+        Set<Long> activeIds = new HashSet<>();
+        for (AnnouncementDTO announcement : active) {
+            activeIds.add(announcement.getId());
+            if (announcement.getExpiresAt() != null) {
+                long deadline = announcement.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                expiryWheel.schedule(announcement.getId(), deadline, this::expire);
+            } else {
+                expiryWheel.cancel(announcement.getId());
+            }
+        }
+        if (snapshot != null) {
+            snapshot.all().stream()
+                    .map(AnnouncementDTO::getId)
+                    .filter(id -> !activeIds.contains(id))
+                    .forEach(expiryWheel::cancel);
+        }
+        snapshot = Snapshot.of(active);
+    }
+
+    private synchronized void expire(Long announcementId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<AnnouncementDTO> remaining = current.all().stream()
+                .filter(a -> !a.getId().equals(announcementId))
+                .toList();
+        if (remaining.size() != current.all().size()) {
+            snapshot = Snapshot.of(remaining);
+            log.debug("Announcement {} expired and was removed from the active set", announcementId);
+        }
+    }
+
+    private record Snapshot(List<AnnouncementDTO> all,
+                            List<AnnouncementDTO> company,
+                            Map<Long, List<AnnouncementDTO>> byTeam) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), List.of(), Map.of());
+
+        static Snapshot of(List<AnnouncementDTO> announcements) {
+            List<AnnouncementDTO> all = announcements.stream().sorted(NEWEST_FIRST).toList();
+
+            List<AnnouncementDTO> company = new ArrayList<>();
+            Map<Long, List<AnnouncementDTO>> teamOnly = new HashMap<>();
+            for (AnnouncementDTO announcement : all) {
+                if (announcement.getAudience() == AnnouncementAudience.COMPANY) {
+                    company.add(announcement);
+                } else if (announcement.getAudience() == AnnouncementAudience.TEAM && announcement.getTeamId() != null) {
+                    teamOnly.computeIfAbsent(announcement.getTeamId(), id -> new ArrayList<>()).add(announcement);
+                }
+            }
+
+            Map<Long, List<AnnouncementDTO>> byTeam = new HashMap<>();
+            teamOnly.forEach((teamId, teamAnnouncements) -> {
+                List<AnnouncementDTO> visible = new ArrayList<>(company);
+                visible.addAll(teamAnnouncements);
+                visible.sort(NEWEST_FIRST);
+                byTeam.put(teamId, List.copyOf(visible));
+            });
+
+            return new Snapshot(all, List.copyOf(company), Map.copyOf(byTeam));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.eska.motive.crew.ws.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buffers announcement "seen" acknowledgements and writes them in batches.
+ *
+ * When an announcement goes out to everyone at once, every client acknowledges it
+ * within a few seconds. With the buffer enabled those acknowledgements are queued
+ * and written every few hundred milliseconds as one JDBC batch of
+ * {@code INSERT IGNORE} statements, so duplicates are absorbed by the unique key.
+ * The size of each flush is recorded in the {@code announcements.ack.flush.size}
+ * distribution summary.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class AnnouncementAckBuffer {
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO user_announcement_views (user_id, announcement_id, seen_at) "
+                    + "SELECT ?, a.id, ? FROM announcements a WHERE a.id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${announcements.ack-buffer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${announcements.ack-buffer.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    private final Queue<Ack> queue = new ConcurrentLinkedQueue<>();
+
+    private DistributionSummary flushSizes;
+
+    @PostConstruct
+    void init() {
+        flushSizes = DistributionSummary.builder("announcements.ack.flush.size")
+                .description("Acknowledgements written per buffer flush")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue acknowledgements to be written on the next flush
+     */
+    public void enqueue(Long userId, List<Long> announcementIds) {
+        LocalDateTime seenAt = LocalDateTime.now();
+        for (Long announcementId : announcementIds) {
+            queue.add(new Ack(userId, announcementId, seenAt));
+        }
+    }
+
+    /**
+     * Number of acknowledgements waiting to be written
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${announcements.ack-buffer.flush-ms:250}")
+    public void flush() {
+        while (!queue.isEmpty()) {
+            List<Ack> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+            Ack ack;
+            while (batch.size() < maxBatchSize && (ack = queue.poll()) != null) {
+                batch.add(ack);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Ack> batch) {
+        try {
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, batch, batch.size(), (ps, ack) -> {
+                ps.setLong(1, ack.userId());
+                ps.setTimestamp(2, Timestamp.valueOf(ack.seenAt()));
+                ps.setLong(3, ack.announcementId());
+            })[0];
+            int inserted = 0;
+            for (int count : counts) {
+                inserted += Math.max(count, 0);
+            }
+            flushSizes.record(batch.size());
+            log.debug("Flushed {} announcement acknowledgements ({} new)", batch.size(), inserted);
+        } catch (Exception e) {
+            log.error("Error flushing {} announcement acknowledgements", batch.size(), e);
+        }
+    }
+
+    private record Ack(Long userId, Long announcementId, LocalDateTime seenAt) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.UserAnnouncementViewRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user index of seen announcements.
+ *
+ * Each user's seen announcement ids are kept as a compact bitmap indexed by
+ * announcement id, loaded lazily from {@code user_announcement_views} on first use.
+ * Bitmaps are replaced copy-on-write, so a lookup only holds the map's lock for the
+ * get itself. At most {@code announcements.seen-index.max-users} bitmaps are kept; the
+ * least recently used one is dropped to make room and reloads on its next use.
+ *
+ * A set bit is final, but a clear bit may only mean the view was recorded on another
+ * node after the bitmap was loaded, so "not seen" is confirmed against the database
+ * (and the bit set when it turns out to be seen). That check only runs for the
+ * announcement about to be shown.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+public class AnnouncementSeenIndex {
+
+    @Autowired
+    private UserAnnouncementViewRepository userAnnouncementViewRepository;
+
+    @Value("${announcements.seen-index.max-users:10000}")
+    private int maxUsers;
+
+    private Map<Long, BitSet> seenByUser;
+
+    @PostConstruct
+    void init() {
+        seenByUser = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BitSet> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Whether the user has seen the announcement, loading their bitmap if needed
+     */
+    public boolean isSeen(Long userId, Long announcementId) {
+        if (announcementId <= Integer.MAX_VALUE && bitmapFor(userId).get(announcementId.intValue())) {
+            return true;
+        }
+        if (userAnnouncementViewRepository.existsByUser_IdAndAnnouncement_Id(userId, announcementId)) {
+            // Recorded on another node since the bitmap was loaded
+            markSeen(userId, List.of(announcementId));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record announcements as seen. Users whose bitmap is not loaded are skipped;
+     * their bitmap picks the rows up from the database when it is first loaded.
+     */
+    public void markSeen(Long userId, Collection<Long> announcementIds) {
+        seenByUser.computeIfPresent(userId, (id, bits) -> {
+            BitSet updated = (BitSet) bits.clone();
+            announcementIds.stream()
+                    .filter(announcementId -> announcementId > 0 && announcementId <= Integer.MAX_VALUE)
+                    .forEach(announcementId -> updated.set(announcementId.intValue()));
+            return updated;
+        });
+    }
+
+    public void evict(Long userId) {
+        seenByUser.remove(userId);
+    }
+
+    private BitSet bitmapFor(Long userId) {
+        BitSet bits = seenByUser.get(userId);
+        if (bits != null) {
+            return bits;
+        }
+        // Loaded outside the map's lock; a concurrent load or markSeen that got there first wins
+        BitSet loaded = load(userId);
+        BitSet existing = seenByUser.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private BitSet load(Long userId) {
+        BitSet bits = new BitSet();
+        for (Long announcementId : userAnnouncementViewRepository.findAnnouncementIdsByUserId(userId)) {
+            if (announcementId <= Integer.MAX_VALUE) {
+                bits.set(announcementId.intValue());
+            }
+        }
+        return bits;
+    }
+}
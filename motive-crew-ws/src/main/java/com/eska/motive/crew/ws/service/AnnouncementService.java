@@ -2,14 +2,15 @@ package com.eska.motive.crew.ws.service;
 
 import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.dto.request.AnnouncementCreateRequest;
+import com.eska.motive.crew.ws.dto.request.AnnouncementSeenBatchRequest;
 import com.eska.motive.crew.ws.dto.request.AnnouncementSeenRequest;
 import com.eska.motive.crew.ws.dto.request.AnnouncementUpdateRequest;
 import com.eska.motive.crew.ws.dto.response.AnnouncementDTO;
 import com.eska.motive.crew.ws.entity.Announcement;
 import com.eska.motive.crew.ws.entity.Team;
 import com.eska.motive.crew.ws.entity.User;
-import com.eska.motive.crew.ws.entity.UserAnnouncementView;
 import com.eska.motive.crew.ws.enums.AnnouncementAudience;
+import com.eska.motive.crew.ws.enums.ExpiryTarget;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.mapper.AnnouncementMapper;
@@ -17,7 +18,11 @@ import com.eska.motive.crew.ws.repository.AnnouncementRepository;
 import com.eska.motive.crew.ws.repository.TeamRepository;
 import com.eska.motive.crew.ws.repository.UserAnnouncementViewRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.eska.motive.crew.ws.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +32,7 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Log4j2
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
@@ -34,6 +40,10 @@ public class AnnouncementService {
     private final TeamRepository teamRepository;
     private final UserAnnouncementViewRepository userAnnouncementViewRepository;
     private final AnnouncementMapper announcementMapper;
+    private final ActiveAnnouncementCache activeAnnouncementCache;
+    private final AnnouncementSeenIndex announcementSeenIndex;
+    private final AnnouncementAckBuffer announcementAckBuffer;
+    private final ExpiryScheduler expiryScheduler;
 
     @Transactional
     public AnnouncementDTO createAnnouncement(AnnouncementCreateRequest request, User currentUser)
@@ -45,6 +55,10 @@ public class AnnouncementService {
         announcement.setCreatedBy(currentUser);
         announcement.setIsActive(true);
         Announcement saved = announcementRepository.save(announcement);
+        if (saved.getExpiresAt() != null) {
+            expiryScheduler.schedule(ExpiryTarget.ANNOUNCEMENT, saved.getId(), saved.getExpiresAt());
+        }
+        activeAnnouncementCache.refreshAfterCommit();
         return announcementMapper.toDto(saved);
     }
 
@@ -56,6 +70,8 @@ public class AnnouncementService {
         applyCommonFields(announcement, request.getTitle(), request.getMessage(), request.getImageUrl(),
                 request.getAudience(), request.getTeamId(), request.getExpiresAt());
         Announcement saved = announcementRepository.save(announcement);
+        expiryScheduler.schedule(ExpiryTarget.ANNOUNCEMENT, saved.getId(), saved.getExpiresAt());
+        activeAnnouncementCache.refreshAfterCommit();
         return announcementMapper.toDto(saved);
     }
 
@@ -66,20 +82,12 @@ public class AnnouncementService {
         Announcement announcement = findAnnouncement(id);
         announcement.setIsActive(false);
         announcementRepository.save(announcement);
+        expiryScheduler.schedule(ExpiryTarget.ANNOUNCEMENT, announcement.getId(), null);
+        activeAnnouncementCache.refreshAfterCommit();
     }
 
-    @Transactional(readOnly = true)
     public List<AnnouncementDTO> getActiveAnnouncements(Long teamId) {
-        LocalDateTime now = LocalDateTime.now();
-        return announcementRepository.findByIsActiveTrueOrderByCreatedAtDesc()
-                .stream()
-                .filter(a -> a.getExpiresAt() == null || !a.getExpiresAt().isBefore(now))
-                .filter(a -> teamId == null
-                        || a.getAudience() == AnnouncementAudience.COMPANY
-                        || (a.getAudience() == AnnouncementAudience.TEAM
-                        && a.getTeam() != null && teamId.equals(a.getTeam().getId())))
-                .map(announcementMapper::toDto)
-                .toList();
+        return activeAnnouncementCache.getActive(teamId);
     }
 
     @Transactional(readOnly = true)
@@ -103,36 +111,78 @@ public class AnnouncementService {
         announcement.setIsActive(true);
         announcement.setExpiresAt(null);
         Announcement saved = announcementRepository.save(announcement);
+        expiryScheduler.schedule(ExpiryTarget.ANNOUNCEMENT, saved.getId(), saved.getExpiresAt());
+        activeAnnouncementCache.refreshAfterCommit();
         return announcementMapper.toDto(saved);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * First active announcement the user has not seen. Answered from the seen index;
+     * if the index cannot load the user's views it falls back to a LIMIT 1 query.
+     * Deliberately not transactional, so a failed index load does not leave a
+     * surrounding transaction marked rollback-only.
+     */
     public Optional<AnnouncementDTO> getPendingAnnouncementForUser(Long userId)
             throws ResourceNotFoundException {
         User user = findUser(userId);
         Long teamId = user.getTeam() != null ? user.getTeam().getId() : null;
-        List<Announcement> announcements = announcementRepository
-                .findPendingAnnouncementsForUser(user.getId(), teamId, LocalDateTime.now());
-        return announcements.stream()
-                .findFirst()
-                .map(announcementMapper::toDto);
+        try {
+            return activeAnnouncementCache.getVisibleTo(teamId).stream()
+                    .filter(announcement -> !announcementSeenIndex.isSeen(user.getId(), announcement.getId()))
+                    .findFirst();
+        } catch (DataAccessException e) {
+            // Typically loading a very large bitmap timed out; a LIMIT 1 query is cheaper
+            log.warn("Seen-announcement index unavailable for user {}, querying pending announcement", userId, e);
+            return announcementRepository
+                    .findPendingAnnouncementsForUser(user.getId(), teamId, LocalDateTime.now(), PageRequest.of(0, 1))
+                    .stream()
+                    .findFirst()
+                    .map(announcementMapper::toDto);
+        }
     }
 
     @Transactional
     public void markAnnouncementAsSeen(Long announcementId, AnnouncementSeenRequest request)
             throws ResourceNotFoundException {
         User user = findUser(request.getUserId());
-        Announcement announcement = findAnnouncement(announcementId);
-
-        boolean alreadySeen = userAnnouncementViewRepository
-                .existsByUser_IdAndAnnouncement_Id(user.getId(), announcement.getId());
-        if (!alreadySeen) {
-            UserAnnouncementView view = UserAnnouncementView.builder()
-                    .announcement(announcement)
-                    .user(user)
-                    .build();
-            userAnnouncementViewRepository.save(view);
+        List<Long> known = knownAnnouncementIds(List.of(announcementId));
+        if (known.isEmpty()) {
+            throw new ResourceNotFoundException("Announcement not found", StatusCode.NOT_FOUND);
+        }
+        recordSeen(user.getId(), known);
+    }
+
+    /**
+     * Mark several announcements as seen in one write; ids already seen or unknown are ignored
+     *
+     * @return number of newly recorded views (or queued acknowledgements when buffered)
+     */
+    @Transactional
+    public int markAnnouncementsAsSeen(AnnouncementSeenBatchRequest request) throws ResourceNotFoundException {
+        User user = findUser(request.getUserId());
+        List<Long> known = knownAnnouncementIds(request.getAnnouncementIds().stream().distinct().toList());
+        return known.isEmpty() ? 0 : recordSeen(user.getId(), known);
+    }
+
+    /**
+     * The ids that belong to stored announcements. Only these may reach the ack buffer
+     * and the seen index: the index is a bitmap sized by the largest id it holds, and a
+     * bit set for an id not created yet would hide that announcement once it is.
+     */
+    private List<Long> knownAnnouncementIds(List<Long> announcementIds) {
+        List<Long> candidates = announcementIds.stream().filter(id -> id != null && id > 0).toList();
+        return candidates.isEmpty() ? List.of() : announcementRepository.findExistingIds(candidates);
+    }
+
+    private int recordSeen(Long userId, List<Long> announcementIds) {
+        if (announcementAckBuffer.isEnabled()) {
+            announcementAckBuffer.enqueue(userId, announcementIds);
+            announcementSeenIndex.markSeen(userId, announcementIds);
+            return announcementIds.size();
         }
+        int recorded = userAnnouncementViewRepository.insertIgnoreSeen(userId, announcementIds, LocalDateTime.now());
+        TransactionUtil.afterCommit(() -> announcementSeenIndex.markSeen(userId, announcementIds));
+        return recorded;
     }
 
     private void applyCommonFields(Announcement announcement,
@@ -51,6 +51,12 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CollectionStatsCache collectionStatsCache;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
     /**
      * Authenticate user and generate JWT token
      */
@@ -130,6 +136,8 @@ public class AuthService {
                     .build();
 
             user = userRepository.save(user);
+            collectionStatsCache.invalidateOpenAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
 
             // Create default preferences
             UserPreferences preferences = UserPreferences.builder()
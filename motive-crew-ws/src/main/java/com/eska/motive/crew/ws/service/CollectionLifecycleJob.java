@@ -0,0 +1,80 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Monthly collection lifecycle.
+ *
+ * Runs at startup and daily on one node (under the {@value #LEASE_NAME} lease):
+ * makes sure the current and next month's collections exist, so that reads never
+ * have to create them, and optionally locks open collections once their month has
+ * been over for {@code contributions.lifecycle.auto-lock.grace-days} days.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class CollectionLifecycleJob {
+
+    static final String LEASE_NAME = "collection-lifecycle";
+
+    @Autowired
+    private ContributionService contributionService;
+
+    @Autowired
+    private MonthlyCollectionRepository collectionRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${contributions.lifecycle.auto-lock.enabled:false}")
+    private boolean autoLockEnabled;
+
+    @Value("${contributions.lifecycle.auto-lock.grace-days:7}")
+    private int graceDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${contributions.lifecycle.cron:0 5 0 * * *}")
+    public void run() {
+        try {
+            if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(10))) {
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            for (YearMonth month : List.of(current, current.plusMonths(1))) {
+                contributionService.ensureMonthlyCollection(month.getYear(), month.getMonthValue());
+            }
+            if (autoLockEnabled) {
+                autoLock();
+            }
+        } catch (Exception e) {
+            log.error("Error running monthly collection lifecycle", e);
+        }
+    }
+
+    private void autoLock() {
+        // Months that ended more than graceDays ago
+        YearMonth firstOpen = YearMonth.from(LocalDate.now().minusDays(graceDays));
+        List<Long> ids = collectionRepository.findOpenIdsBefore(firstOpen.getYear(), firstOpen.getMonthValue());
+        for (Long id : ids) {
+            contributionService.autoLockCollection(id);
+            log.info("Auto-locked monthly collection {}", id);
+        }
+    }
+}
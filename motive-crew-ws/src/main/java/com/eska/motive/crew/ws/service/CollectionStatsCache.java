@@ -0,0 +1,74 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-collection cache of {@link ContributionService.CollectionStats}.
+ *
+ * Entries for open collections are dropped after payment or target changes commit,
+ * when the number of active members changes, and after a short TTL so writes made
+ * by other nodes are picked up. A locked collection can no longer change, so its
+ * entry is kept for good. A load that overlaps an invalidation is returned but not
+ * kept, as it may have read the data from before the change.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+public class CollectionStatsCache {
+
+    @Value("${contributions.stats.cache-ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Cached statistics, loading them on a miss; a null load is returned and not kept
+     */
+    public ContributionService.CollectionStats get(Long collectionId, boolean locked,
+                                                   Supplier<ContributionService.CollectionStats> loader) {
+        Entry entry = entries.get(collectionId);
+        long now = System.currentTimeMillis();
+        if (entry != null && (entry.locked() || now - entry.loadedAt() <= ttlMs)) {
+            return entry.stats();
+        }
+        long loadGeneration = generation.get();
+        ContributionService.CollectionStats stats = loader.get();
+        if (stats != null && generation.get() == loadGeneration) {
+            entries.put(collectionId, new Entry(stats, locked, now));
+        }
+        return stats;
+    }
+
+    /**
+     * Drop one collection's entry once the current transaction commits
+     */
+    public void invalidateAfterCommit(Long collectionId) {
+        TransactionUtil.afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.remove(collectionId);
+        });
+    }
+
+    /**
+     * Drop every open collection's entry once the current transaction commits
+     * (used when the number of active members changes)
+     */
+    public void invalidateOpenAfterCommit() {
+        TransactionUtil.afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> !entry.locked());
+        });
+    }
+
+    private record Entry(ContributionService.CollectionStats stats, boolean locked, long loadedAt) {
+    }
+}
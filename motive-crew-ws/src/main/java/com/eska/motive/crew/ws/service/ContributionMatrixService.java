@@ -0,0 +1,197 @@
+package com.eska.motive.crew.ws.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Members x months view of who paid what in a year.
+ *
+ * Built from three queries regardless of the number of members or months: the
+ * member list, the year's collections, and one range query over the year's
+ * payments. Amounts are held in a flat {@code long[]} of cents indexed by
+ * {@code member * 12 + (month - 1)}, and paid status in a {@link BitSet} with the
+ * same indexing.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+public class ContributionMatrixService {
+
+    public static final int MONTHS = 12;
+
+    private static final String MEMBERS_SQL = """
+            SELECT u.id, u.name FROM users u
+            WHERE u.is_active = TRUE
+               OR EXISTS (SELECT 1 FROM member_payments p
+                          JOIN monthly_collections c ON c.id = p.collection_id
+                          WHERE p.user_id = u.id AND c.year = ?)
+            ORDER BY u.name, u.id
+            """;
+
+    private static final String COLLECTIONS_SQL =
+            "SELECT month, target_amount, is_locked FROM monthly_collections WHERE year = ?";
+
+    private static final String PAYMENTS_SQL = """
+            SELECT p.user_id, c.month, p.amount, p.status
+            FROM monthly_collections c
+            JOIN member_payments p ON p.collection_id = c.id
+            WHERE c.year = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Read-only so the three queries see one snapshot of the year
+     */
+    @Transactional(readOnly = true)
+    public Matrix build(int year) {
+        List<Long> memberIds = new ArrayList<>();
+        List<String> memberNames = new ArrayList<>();
+        jdbcTemplate.query(MEMBERS_SQL, rs -> {
+            memberIds.add(rs.getLong(1));
+            memberNames.add(rs.getString(2));
+        }, year);
+
+        Map<Long, Integer> rowOf = new HashMap<>(memberIds.size() * 2);
+        for (int i = 0; i < memberIds.size(); i++) {
+            rowOf.put(memberIds.get(i), i);
+        }
+
+        BigDecimal[] targets = new BigDecimal[MONTHS];
+        BitSet locked = new BitSet(MONTHS);
+        jdbcTemplate.query(COLLECTIONS_SQL, rs -> {
+            int month = rs.getInt(1) - 1;
+            targets[month] = rs.getBigDecimal(2);
+            if (rs.getBoolean(3)) {
+                locked.set(month);
+            }
+        }, year);
+
+        long[] cents = new long[memberIds.size() * MONTHS];
+        BitSet paid = new BitSet(cents.length);
+        jdbcTemplate.query(PAYMENTS_SQL, rs -> {
+            Integer row = rowOf.get(rs.getLong(1));
+            if (row == null || !"PAID".equals(rs.getString(4))) {
+                return;
+            }
+            int cell = row * MONTHS + rs.getInt(2) - 1;
+            paid.set(cell);
+            cents[cell] = rs.getBigDecimal(3).movePointRight(2).longValueExact();
+        }, year);
+
+        return new Matrix(year, toLongArray(memberIds), memberNames.toArray(new String[0]), cents, paid,
+                targets, locked);
+    }
+
+    private static long[] toLongArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * The materialized matrix; row {@code i} is member {@code memberIds[i]}
+     */
+    public static final class Matrix {
+
+        private final int year;
+        private final long[] memberIds;
+        private final String[] memberNames;
+        private final long[] cents;
+        private final BitSet paid;
+        private final BigDecimal[] targets;
+        private final BitSet locked;
+
+        Matrix(int year, long[] memberIds, String[] memberNames, long[] cents, BitSet paid,
+               BigDecimal[] targets, BitSet locked) {
+            this.year = year;
+            this.memberIds = memberIds;
+            this.memberNames = memberNames;
+            this.cents = cents;
+            this.paid = paid;
+            this.targets = targets;
+            this.locked = locked;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public int getMemberCount() {
+            return memberIds.length;
+        }
+
+        public long getMemberId(int row) {
+            return memberIds[row];
+        }
+
+        public String getMemberName(int row) {
+            return memberNames[row];
+        }
+
+        /**
+         * Paid months of a member as a 12-bit mask; bit {@code m - 1} is month {@code m}
+         */
+        public int getPaidMask(int row) {
+            long[] words = paid.get(row * MONTHS, (row + 1) * MONTHS).toLongArray();
+            return words.length == 0 ? 0 : (int) words[0];
+        }
+
+        public BigDecimal getAmount(int row, int month) {
+            return BigDecimal.valueOf(cents[row * MONTHS + month - 1], 2);
+        }
+
+        public BigDecimal getMemberTotal(int row) {
+            long total = 0;
+            for (int cell = row * MONTHS; cell < (row + 1) * MONTHS; cell++) {
+                total += cents[cell];
+            }
+            return BigDecimal.valueOf(total, 2);
+        }
+
+        /**
+         * Amount collected per month, in cents; index {@code m - 1} is month {@code m}
+         */
+        public long[] getMonthTotalCents() {
+            long[] totals = new long[MONTHS];
+            for (int cell = 0; cell < cents.length; cell++) {
+                totals[cell % MONTHS] += cents[cell];
+            }
+            return totals;
+        }
+
+        /**
+         * Number of members who paid, per month; index {@code m - 1} is month {@code m}
+         */
+        public int[] getPaidCounts() {
+            int[] counts = new int[MONTHS];
+            for (int cell = paid.nextSetBit(0); cell >= 0; cell = paid.nextSetBit(cell + 1)) {
+                counts[cell % MONTHS]++;
+            }
+            return counts;
+        }
+
+        /**
+         * Target per member for the month, or null when the month has no collection
+         */
+        public BigDecimal getTarget(int month) {
+            return targets[month - 1];
+        }
+
+        public boolean isLocked(int month) {
+            return locked.get(month - 1);
+        }
+    }
+}
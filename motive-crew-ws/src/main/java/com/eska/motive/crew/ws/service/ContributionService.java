@@ -1,26 +1,43 @@
 package com.eska.motive.crew.ws.service;
 
 import com.eska.motive.crew.contract.StatusCode;
+import com.eska.motive.crew.ws.dto.request.BulkPaymentRequest;
 import com.eska.motive.crew.ws.dto.request.MarkPaymentRequest;
 import com.eska.motive.crew.ws.entity.MemberPayment;
 import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import com.eska.motive.crew.ws.entity.MonthlySnapshot;
 import com.eska.motive.crew.ws.entity.User;
 import com.eska.motive.crew.ws.exception.InternalErrorException;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
 import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import com.eska.motive.crew.ws.repository.MonthlySnapshotRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing monthly contributions
@@ -31,6 +48,12 @@ import java.util.Optional;
 @Log4j2
 public class ContributionService {
 
+    private static final String UPSERT_PAID_SQL =
+            "INSERT INTO member_payments (user_id, collection_id, amount, payment_date, status, notes, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, 'PAID', ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE amount = VALUES(amount), payment_date = VALUES(payment_date), "
+                    + "status = 'PAID', notes = VALUES(notes), updated_at = VALUES(updated_at)";
+
     @Autowired
     private MonthlyCollectionRepository collectionRepository;
 
@@ -40,26 +63,76 @@ public class ContributionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CollectionStatsCache statsCache;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private MonthlySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${contributions.default-target-amount:5.00}")
+    private BigDecimal defaultTargetAmount;
+
     /**
-     * Get or create monthly collection for a specific month
+     * Monthly collection for viewing. Never writes: a month whose collection has not
+     * been created yet is returned as an unsaved, empty collection (id null).
+     */
+    @Transactional(readOnly = true)
+    public MonthlyCollection getMonthlyCollectionForView(Integer year, Integer month) {
+        return collectionRepository.findByYearAndMonth(year, month)
+                .orElseGet(() -> MonthlyCollection.builder()
+                        .year(year)
+                        .month(month)
+                        .targetAmount(defaultTargetAmount)
+                        .isLocked(false)
+                        .build());
+    }
+
+    /**
+     * Create the monthly collection if it does not exist yet, and return it
      */
     @Transactional
-    public MonthlyCollection getOrCreateMonthlyCollection(Integer year, Integer month) {
-        Optional<MonthlyCollection> collection = collectionRepository.findByYearAndMonth(year, month);
-        
-        if (collection.isPresent()) {
-            return collection.get();
+    public MonthlyCollection ensureMonthlyCollection(Integer year, Integer month) {
+        if (collectionRepository.insertIfAbsent(year, month, defaultTargetAmount, LocalDateTime.now()) == 1) {
+            log.info("Created monthly collection {}-{}", year, month);
+            dashboardCache.invalidateAfterCommit(year, month);
         }
+        return collectionRepository.findByYearAndMonth(year, month).orElseThrow();
+    }
 
-        // Create new collection
-        MonthlyCollection newCollection = MonthlyCollection.builder()
-                .year(year)
-                .month(month)
-                .targetAmount(new BigDecimal("5.00"))
-                .isLocked(false)
-                .build();
+    /**
+     * Create a monthly collection ahead of time (admin)
+     */
+    @Transactional
+    public MonthlyCollection createMonthlyCollection(Integer year, Integer month, User currentUser)
+            throws ValidationException, InternalErrorException {
+        try {
+            // Only admin can create collections
+            if (currentUser.getRole() != User.UserRole.ADMIN) {
+                throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+            }
+            if (month < 1 || month > 12) {
+                throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+            }
+            return ensureMonthlyCollection(year, month);
 
-        return collectionRepository.save(newCollection);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error creating monthly collection", e);
+            throw new InternalErrorException(StatusCode.INTERNAL_ERROR);
+        }
     }
 
     /**
@@ -123,7 +196,9 @@ public class ContributionService {
                         .build();
             }
 
-            return paymentRepository.save(payment);
+            MemberPayment saved = paymentRepository.save(payment);
+            collectionChanged(collection);
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -133,6 +208,89 @@ public class ContributionService {
         }
     }
 
+    /**
+     * Mark many members as paid for a collection in one batch. The collection is
+     * checked once; each entry becomes one row of a batched upsert on the unique
+     * (user_id, collection_id) key. Entries for unknown members, or repeating a
+     * member already in the request, are reported and skipped.
+     */
+    @Transactional
+    public List<BulkPaymentResult> markMembersAsPaid(Long collectionId, BulkPaymentRequest request, User currentUser)
+            throws ResourceNotFoundException, ValidationException, InternalErrorException {
+        try {
+            // Only admin can mark payments
+            if (currentUser.getRole() != User.UserRole.ADMIN) {
+                throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+            }
+
+            MonthlyCollection collection = collectionRepository.findById(collectionId)
+                    .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
+
+            // Check if collection is locked
+            if (collection.getIsLocked()) {
+                throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+            }
+
+            List<BulkPaymentRequest.Entry> entries = request.getPayments();
+            Set<Long> existing = new HashSet<>(userRepository.findExistingIds(
+                    entries.stream().map(BulkPaymentRequest.Entry::getMemberId).distinct().toList()));
+
+            List<BulkPaymentResult> results = new ArrayList<>(entries.size());
+            Map<Long, BulkPaymentRequest.Entry> accepted = new LinkedHashMap<>();
+            for (BulkPaymentRequest.Entry entry : entries) {
+                if (!existing.contains(entry.getMemberId())) {
+                    results.add(BulkPaymentResult.failed(entry.getMemberId(), "MEMBER_NOT_FOUND"));
+                } else if (accepted.putIfAbsent(entry.getMemberId(), entry) != null) {
+                    results.add(BulkPaymentResult.failed(entry.getMemberId(), "DUPLICATE_MEMBER"));
+                } else {
+                    results.add(null); // filled in from the batch below
+                }
+            }
+
+            if (!accepted.isEmpty()) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                Date today = Date.valueOf(LocalDate.now());
+                List<Object[]> rows = new ArrayList<>(accepted.size());
+                for (BulkPaymentRequest.Entry entry : accepted.values()) {
+                    rows.add(new Object[]{
+                            entry.getMemberId(), collectionId, entry.getAmount(),
+                            entry.getPaymentDate() != null ? Date.valueOf(entry.getPaymentDate()) : today,
+                            entry.getNotes(), now, now});
+                }
+                int[] counts = jdbcTemplate.batchUpdate(UPSERT_PAID_SQL, rows);
+
+                int next = 0;
+                List<Long> memberIds = new ArrayList<>(accepted.keySet());
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i) == null) {
+                        results.set(i, BulkPaymentResult.recorded(memberIds.get(next), outcome(counts[next])));
+                        next++;
+                    }
+                }
+                collectionChanged(collection);
+            }
+
+            return results;
+
+        } catch (ResourceNotFoundException | ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error recording bulk payments", e);
+            throw new InternalErrorException(StatusCode.INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * MySQL reports 1 for an inserted row and 2 for an updated one; batches rewritten
+     * by the driver only report success
+     */
+    private static String outcome(int count) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+            return "RECORDED";
+        }
+        return count == 1 ? "CREATED" : "UPDATED";
+    }
+
     /**
      * Mark member as unpaid
      */
@@ -163,6 +321,7 @@ public class ContributionService {
                 payment.get().setAmount(BigDecimal.ZERO);
                 payment.get().setPaymentDate(null);
                 paymentRepository.save(payment.get());
+                collectionChanged(collection);
             }
 
         } catch (ResourceNotFoundException | ValidationException e) {
@@ -194,7 +353,9 @@ public class ContributionService {
             }
 
             collection.setTargetAmount(targetAmount);
-            return collectionRepository.save(collection);
+            MonthlyCollection saved = collectionRepository.save(collection);
+            collectionChanged(saved);
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -219,11 +380,7 @@ public class ContributionService {
             MonthlyCollection collection = collectionRepository.findById(collectionId)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
-            collection.setIsLocked(true);
-            collection.setLockedAt(LocalDateTime.now());
-            collection.setLockedBy(currentUser);
-
-            return collectionRepository.save(collection);
+            return lock(collection, currentUser);
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -233,6 +390,43 @@ public class ContributionService {
         }
     }
 
+    /**
+     * Lock a collection on behalf of the lifecycle job (no locking user)
+     */
+    @Transactional
+    public void autoLockCollection(Long collectionId) {
+        collectionRepository.findById(collectionId)
+                .filter(collection -> !collection.getIsLocked())
+                .ifPresent(collection -> lock(collection, null));
+    }
+
+    private MonthlyCollection lock(MonthlyCollection collection, User lockedBy) {
+        collection.setIsLocked(true);
+        collection.setLockedAt(LocalDateTime.now());
+        collection.setLockedBy(lockedBy);
+
+        MonthlyCollection saved = collectionRepository.save(collection);
+        // Taken from the month's snapshot once captured, then kept for good
+        collectionChanged(saved);
+        // The month's report is frozen once this commits (see ReportService)
+        eventPublisher.publishEvent(new CollectionLocked(saved.getId(), saved.getYear(), saved.getMonth()));
+        return saved;
+    }
+
+    /**
+     * Drop the cached views of a collection once the current transaction commits
+     */
+    private void collectionChanged(MonthlyCollection collection) {
+        statsCache.invalidateAfterCommit(collection.getId());
+        dashboardCache.invalidateAfterCommit(collection.getYear(), collection.getMonth());
+    }
+
+    /**
+     * Published when a monthly collection gets locked
+     */
+    public record CollectionLocked(Long collectionId, Integer year, Integer month) {
+    }
+
     /**
      * Get all payments for a collection
      */
@@ -243,18 +437,72 @@ public class ContributionService {
     }
 
     /**
-     * Calculate collection statistics
+     * Calculate collection statistics (cached per collection, see {@link CollectionStatsCache}).
+     *
+     * A locked collection reports the figures frozen in its monthly snapshot, so that it
+     * agrees with the month's report even as members join or leave later.
      */
     public CollectionStats calculateStats(MonthlyCollection collection) {
-        List<MemberPayment> payments = paymentRepository.findByCollection(collection);
-        
-        long membersPaid = paymentRepository.countByCollectionAndStatus(collection, MemberPayment.PaymentStatus.PAID);
-        long totalMembers = userRepository.countByIsActiveTrue();
-        
-        BigDecimal totalCollected = payments.stream()
-                .filter(p -> p.getStatus() == MemberPayment.PaymentStatus.PAID)
-                .map(MemberPayment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (collection.getId() == null) {
+            // Not created yet: no payments, nothing worth caching
+            return computeStats(collection);
+        }
+        if (Boolean.TRUE.equals(collection.getIsLocked())) {
+            CollectionStats frozen = statsCache.get(collection.getId(), true, () -> snapshotStats(collection));
+            if (frozen != null) {
+                return frozen;
+            }
+            // Snapshot not captured yet (see ReportService.onCollectionLocked): count live until it is
+            return computeStats(collection);
+        }
+        return statsCache.get(collection.getId(), false, () -> computeStats(collection));
+    }
+
+    /**
+     * Statistics from the financial part of the collection's snapshot, or null when
+     * there is none to read
+     */
+    private CollectionStats snapshotStats(MonthlyCollection collection) {
+        Optional<MonthlySnapshot> snapshot = snapshotRepository.findById(collection.getId());
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        ReportService.FinancialSummary financial;
+        try {
+            // Read like ReportService does, keeping the amounts' scale
+            financial = objectMapper.readerFor(ReportService.MonthlySummaryDTO.class)
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .<ReportService.MonthlySummaryDTO>readValue(snapshot.get().getPayload())
+                    .getFinancial();
+        } catch (JsonProcessingException e) {
+            log.error("Error reading snapshot of collection {}", collection.getId(), e);
+            return null;
+        }
+        if (financial == null) {
+            // Built while some of its queries failed
+            return null;
+        }
+        int totalMembers = financial.getTotalMembers();
+        int membersPaid = financial.getMembersPaid();
+        BigDecimal totalCollected = financial.getTotalCollected();
+        BigDecimal goalAmount = collection.getTargetAmount().multiply(new BigDecimal(totalMembers));
+
+        return CollectionStats.builder()
+                .totalMembers(totalMembers)
+                .membersPaid(membersPaid)
+                .membersPending(totalMembers - membersPaid)
+                .totalCollected(totalCollected)
+                .goalAmount(goalAmount)
+                .remainingAmount(goalAmount.subtract(totalCollected))
+                .progressPercentage(financial.getProgressPercentage())
+                .build();
+    }
+
+    private CollectionStats computeStats(MonthlyCollection collection) {
+        MemberPaymentRepository.CollectionTotals totals = paymentRepository.getCollectionTotals(collection.getId());
+        long membersPaid = totals.getMembersPaid();
+        long totalMembers = totals.getActiveMembers();
+        BigDecimal totalCollected = totals.getTotalCollected();
 
         BigDecimal goalAmount = collection.getTargetAmount().multiply(new BigDecimal(totalMembers));
         BigDecimal remainingAmount = goalAmount.subtract(totalCollected);
@@ -275,6 +523,26 @@ public class ContributionService {
                 .build();
     }
 
+    /**
+     * Per-entry outcome of a bulk payment request
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class BulkPaymentResult {
+        private Long memberId;
+        private boolean success;
+        private String result;
+        private String error;
+
+        static BulkPaymentResult recorded(Long memberId, String result) {
+            return BulkPaymentResult.builder().memberId(memberId).success(true).result(result).build();
+        }
+
+        static BulkPaymentResult failed(Long memberId, String error) {
+            return BulkPaymentResult.builder().memberId(memberId).success(false).error(error).build();
+        }
+    }
+
     /**
      * Collection statistics DTO
      */
@@ -0,0 +1,131 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-month cache of the shared part of the dashboard ({@link DashboardService.MonthView}).
+ *
+ * Entries are dropped after payment, expense and event writes commit, and after a
+ * short TTL so writes made by other nodes are picked up. A load that overlaps an
+ * invalidation is returned but not stored, so it cannot bring back stale data;
+ * neither is a partial view.
+ * Hits and misses are published as {@code dashboard.cache.requests}, with the
+ * ratio as {@code dashboard.cache.hit.ratio}.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+public class DashboardMonthCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${dashboard.cache.max-months:24}")
+    private int maxMonths;
+
+    private final Map<YearMonth, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private Counter hits;
+
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = Counter.builder("dashboard.cache.requests")
+                .description("Dashboard month cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("dashboard.cache.requests")
+                .description("Dashboard month cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.cache.hit.ratio", this, DashboardMonthCache::hitRatio)
+                .description("Share of dashboard month lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.cache.size", entries, Map::size)
+                .description("Months held in the dashboard cache")
+                .register(meterRegistry);
+    }
+
+    public DashboardService.MonthView get(YearMonth month, Supplier<DashboardService.MonthView> loader) {
+        Entry entry = entries.get(month);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.loadedAt() <= ttlMs) {
+            hits.increment();
+            return entry.view();
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        DashboardService.MonthView view = loader.get();
+        // Partial views (some queries timed out) are served once but not kept
+        if (!view.partial() && generation.get() == loadGeneration) {
+            if (entries.size() >= maxMonths && !entries.containsKey(month)) {
+                // Rarely viewed months fall out first; the current ones are reloaded right away anyway
+                entries.entrySet().stream()
+                        .min(Map.Entry.comparingByValue((a, b) -> Long.compare(a.loadedAt(), b.loadedAt())))
+                        .ifPresent(oldest -> entries.remove(oldest.getKey()));
+            }
+            entries.put(month, new Entry(view, now));
+        }
+        return view;
+    }
+
+    /**
+     * Drop the month of {@code date} once the current transaction commits
+     */
+    public void invalidateAfterCommit(LocalDate date) {
+        if (date != null) {
+            invalidateAfterCommit(date.getYear(), date.getMonthValue());
+        }
+    }
+
+    /**
+     * Drop one month once the current transaction commits
+     */
+    public void invalidateAfterCommit(int year, int month) {
+        YearMonth key = YearMonth.of(year, month);
+        TransactionUtil.afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.remove(key);
+        });
+    }
+
+    /**
+     * Drop every month once the current transaction commits (used for changes that
+     * show on every month, such as events and the number of members)
+     */
+    public void invalidateAllAfterCommit() {
+        TransactionUtil.afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Entry(DashboardService.MonthView view, long loadedAt) {
+    }
+}
@@ -7,14 +7,17 @@ import com.eska.motive.crew.ws.entity.User;
 import com.eska.motive.crew.ws.repository.EventRepository;
 import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
 import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import com.eska.motive.crew.ws.util.DateRange;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +44,18 @@ public class DashboardService {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private UpcomingEventsCache upcomingEventsCache;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private DashboardMonthCache monthCache;
+
+    @Autowired
+    private QueryFanOut queryFanOut;
+
     /**
      * Get dashboard data for home screen
      */
@@ -50,72 +65,136 @@ public class DashboardService {
             month = now.getMonthValue();
             year = now.getYear();
         }
+        int monthValue = month;
+        int yearValue = year;
 
-        // Get or create monthly collection
-        MonthlyCollection collection = contributionService.getOrCreateMonthlyCollection(year, month);
+        // Shared by every user looking at the month; only the user and actions parts are per-user
+        MonthView view = monthCache.get(YearMonth.of(year, month), () -> loadMonthView(monthValue, yearValue));
 
-        // Calculate collection stats
-        ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
+        return DashboardDTO.builder()
+                .user(UserInfo.builder()
+                        .id(user.getId())
+                        .name(user.getName())
+                        .role(user.getRole().name())
+                        .build())
+                .summary(view.summary())
+                .upcomingEvent(view.upcomingEvent())
+                .recentActivity(view.recentActivity())
+                .partial(view.partial())
+                .quickActions(QuickActions.builder()
+                        .canAddEvent(user.getRole() == User.UserRole.ADMIN)
+                        .canRecordPayment(user.getRole() == User.UserRole.ADMIN)
+                        .canAddExpense(user.getRole() == User.UserRole.ADMIN)
+                        .build())
+                .build();
+    }
 
-        // Get expenses summary
-        ExpenseService.ExpenseSummary expenseSummary = expenseService.getExpenseSummary(month, year);
+    /**
+     * Month-level part of the dashboard, computed from the database
+     */
+    private MonthView loadMonthView(int month, int year) {
+        // Get monthly collection (read-only; created ahead of time by the lifecycle job)
+        MonthlyCollection collection = contributionService.getMonthlyCollectionForView(year, month);
 
-        // Calculate balance
-        BigDecimal balance = stats.getTotalCollected().subtract(expenseSummary.getTotalSpent());
+        // Locked months are read from their frozen report
+        ReportService.MonthlySummaryDTO snapshot = reportService.findSnapshot(collection);
+
+        // The remaining queries are independent of each other (see QueryFanOut)
+        try (QueryFanOut.Batch batch = queryFanOut.start("dashboard")) {
+            Future<ContributionService.CollectionStats> stats = snapshot == null
+                    ? batch.submit(() -> contributionService.calculateStats(collection)) : null;
+            Future<ExpenseService.ExpenseSummary> expenseSummary = snapshot == null
+                    ? batch.submit(() -> expenseService.getExpenseSummary(month, year)) : null;
+            Future<Long> eventsCount = snapshot == null
+                    ? batch.submit(() -> countEvents(month, year)) : null;
+
+            // Get upcoming events (the next one is featured, two feed the activity list)
+            Future<List<Event>> upcoming = batch.submit(() -> upcomingEventsCache.getNext(2));
+
+            // Get recent activity (last 5 payments and events)
+            Future<List<MemberPayment>> payments = batch.submit(() -> recentPayments(collection));
 
-        // Get upcoming events
-        List<Event> upcomingEvents = eventRepository.findByEventDateAfterAndStatusOrderByEventDateAsc(
-                LocalDate.now(), Event.EventStatus.UPCOMING);
+            SummaryInfo summary = snapshot != null
+                    ? summaryOf(snapshot)
+                    : liveSummary(month, year,
+                            batch.join("stats", stats, null),
+                            batch.join("expenses", expenseSummary, null),
+                            batch.join("events count", eventsCount, null));
+            List<Event> upcomingEvents = batch.join("upcoming events", upcoming, List.of());
+            List<MemberPayment> recentPayments = batch.join("payments", payments, List.of());
+
+            Event upcomingEvent = upcomingEvents.isEmpty() ? null : upcomingEvents.get(0);
+
+            return new MonthView(summary,
+                    upcomingEvent != null ? UpcomingEventInfo.builder()
+                            .id(upcomingEvent.getId())
+                            .name(upcomingEvent.getName())
+                            .date(upcomingEvent.getEventDate())
+                            .time(upcomingEvent.getEventTime())
+                            .location(upcomingEvent.getLocation())
+                            .participants(upcomingEvent.getJoinedCount())
+                            .type(upcomingEvent.getType().name())
+                            .build() : null,
+                    List.copyOf(buildRecentActivity(recentPayments, upcomingEvents)),
+                    batch.isPartial());
+        }
+    }
 
-        Event upcomingEvent = upcomingEvents.isEmpty() ? null : upcomingEvents.get(0);
+    private long countEvents(int month, int year) {
+        DateRange range = DateRange.ofMonth(month, year);
+        return eventRepository.countByEventDateGreaterThanEqualAndEventDateLessThan(range.from(), range.to());
+    }
 
-        // Get recent activity (last 5 payments and events)
-        List<MemberPayment> recentPayments = paymentRepository.findByCollection(collection)
+    private List<MemberPayment> recentPayments(MonthlyCollection collection) {
+        if (collection.getId() == null) {
+            return List.of();
+        }
+        return paymentRepository.findByCollection(collection)
                 .stream()
                 .filter(p -> p.getStatus() == MemberPayment.PaymentStatus.PAID)
                 .sorted((p1, p2) -> p2.getPaymentDate().compareTo(p1.getPaymentDate()))
                 .limit(3)
                 .collect(Collectors.toList());
+    }
 
-        // Count events for the month
-        long eventsCount = eventRepository.findByFilters(null, null, month, year, null,
-                org.springframework.data.domain.Pageable.unpaged()).getTotalElements();
+    /**
+     * Month summary computed from the live tables; null when part of it could not be loaded
+     */
+    private SummaryInfo liveSummary(int month, int year, ContributionService.CollectionStats stats,
+                                    ExpenseService.ExpenseSummary expenseSummary, Long eventsCount) {
+        if (stats == null || expenseSummary == null || eventsCount == null) {
+            return null;
+        }
 
-        return DashboardDTO.builder()
-                .user(UserInfo.builder()
-                        .id(user.getId())
-                        .name(user.getName())
-                        .role(user.getRole().name())
-                        .build())
-                .summary(SummaryInfo.builder()
-                        .month(getMonthName(month) + " " + year)
-                        .totalCollected(stats.getTotalCollected())
-                        .totalSpent(expenseSummary.getTotalSpent())
-                        .balance(balance)
-                        .eventsCount((int) eventsCount)
-                        .membersPaid(stats.getMembersPaid())
-                        .totalMembers(stats.getTotalMembers())
-                        .progressPercentage(stats.getProgressPercentage())
-                        .build())
-                .upcomingEvent(upcomingEvent != null ? UpcomingEventInfo.builder()
-                        .id(upcomingEvent.getId())
-                        .name(upcomingEvent.getName())
-                        .date(upcomingEvent.getEventDate())
-                        .time(upcomingEvent.getEventTime())
-                        .location(upcomingEvent.getLocation())
-                        .participants(upcomingEvent.getParticipants() != null 
-                                ? (int) upcomingEvent.getParticipants().stream()
-                                        .filter(p -> p.getStatus() == com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus.JOINED)
-                                        .count()
-                                : 0)
-                        .type(upcomingEvent.getType().name())
-                        .build() : null)
-                .recentActivity(buildRecentActivity(recentPayments, upcomingEvents))
-                .quickActions(QuickActions.builder()
-                        .canAddEvent(user.getRole() == User.UserRole.ADMIN)
-                        .canRecordPayment(user.getRole() == User.UserRole.ADMIN)
-                        .canAddExpense(user.getRole() == User.UserRole.ADMIN)
-                        .build())
+        // Calculate balance
+        BigDecimal balance = stats.getTotalCollected().subtract(expenseSummary.getTotalSpent());
+
+        return SummaryInfo.builder()
+                .month(getMonthName(month) + " " + year)
+                .totalCollected(stats.getTotalCollected())
+                .totalSpent(expenseSummary.getTotalSpent())
+                .balance(balance)
+                .eventsCount(eventsCount.intValue())
+                .membersPaid(stats.getMembersPaid())
+                .totalMembers(stats.getTotalMembers())
+                .progressPercentage(stats.getProgressPercentage())
+                .build();
+    }
+
+    /**
+     * Month summary taken from a locked month's snapshot
+     */
+    private SummaryInfo summaryOf(ReportService.MonthlySummaryDTO snapshot) {
+        ReportService.FinancialSummary financial = snapshot.getFinancial();
+        return SummaryInfo.builder()
+                .month(snapshot.getMonthName())
+                .totalCollected(financial.getTotalCollected())
+                .totalSpent(financial.getTotalSpent())
+                .balance(financial.getBalance())
+                .eventsCount(snapshot.getEvents().size())
+                .membersPaid(financial.getMembersPaid())
+                .totalMembers(financial.getTotalMembers())
+                .progressPercentage(financial.getProgressPercentage())
                 .build();
     }
 
@@ -161,6 +240,14 @@ public class DashboardService {
         return monthNames[month];
     }
 
+    /**
+     * The part of the dashboard that is the same for every user, per month
+     * (cached in {@link DashboardMonthCache})
+     */
+    public record MonthView(SummaryInfo summary, UpcomingEventInfo upcomingEvent, List<ActivityItem> recentActivity,
+                            boolean partial) {
+    }
+
     /**
      * Dashboard DTO
      */
@@ -172,6 +259,10 @@ public class DashboardService {
         private UpcomingEventInfo upcomingEvent;
         private List<ActivityItem> recentActivity;
         private QuickActions quickActions;
+        /**
+         * True when some parts could not be loaded in time and were left empty
+         */
+        private boolean partial;
     }
 
     @lombok.Data
@@ -0,0 +1,279 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.contract.StatusCode;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.InternalErrorException;
+import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
+import com.eska.motive.crew.ws.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * iCalendar (RFC 5545) subscription feed of events.
+ *
+ * Each member gets a secret feed URL that calendar apps can poll without a JWT.
+ * The feed is written straight from a forward-only JDBC cursor, one VEVENT per row,
+ * so memory use does not depend on the number of events. A cheap version query
+ * (max {@code updated_at}, count and id sum over the same rows) backs the ETag and
+ * Last-Modified headers, so unchanged polls are answered with 304.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class EventCalendarService {
+
+    private static final String PRODID = "-//Motive Crew//Events//EN";
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private static final String FROM_ALL = "FROM events e WHERE e.event_date >= ?";
+    private static final String FROM_JOINED = "FROM events e "
+            + "JOIN event_participants p ON p.event_id = e.id AND p.user_id = ? AND p.status = 'JOINED' "
+            + "WHERE e.event_date >= ?";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${events.calendar.past-days:90}")
+    private int pastDays;
+
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        // MySQL Connector/J streams rows one at a time with this fetch size instead of buffering the result
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * The user's feed token, generated on first use
+     */
+    @Transactional
+    public String getFeedToken(User user) throws InternalErrorException {
+        try {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            if (managed.getCalendarToken() == null) {
+                managed.setCalendarToken(newToken());
+                userRepository.save(managed);
+            }
+            return managed.getCalendarToken();
+        } catch (Exception e) {
+            log.error("Error getting calendar feed token", e);
+            throw new InternalErrorException(StatusCode.INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Replace the user's feed token, invalidating the old subscription URL
+     */
+    @Transactional
+    public String rotateFeedToken(User user) throws InternalErrorException {
+        try {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setCalendarToken(newToken());
+            userRepository.save(managed);
+            return managed.getCalendarToken();
+        } catch (Exception e) {
+            log.error("Error rotating calendar feed token", e);
+            throw new InternalErrorException(StatusCode.INTERNAL_ERROR);
+        }
+    }
+
+    public User getFeedOwner(String token) throws ResourceNotFoundException {
+        return userRepository.findByCalendarTokenAndIsActiveTrue(token)
+                .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
+    }
+
+    /**
+     * Version of the feed contents; changes whenever an event in it is added, edited
+     * or removed (or, for a joined-only feed, joined or left)
+     */
+    public FeedVersion getVersion(Long userId, boolean joinedOnly) {
+        LocalDate since = LocalDate.now().minusDays(pastDays);
+        String sql = "SELECT MAX(e.updated_at), COUNT(*), COALESCE(SUM(e.id), 0) "
+                + (joinedOnly ? FROM_JOINED : FROM_ALL);
+        Object[] args = joinedOnly ? new Object[]{userId, since} : new Object[]{since};
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Timestamp lastModified = rs.getTimestamp(1);
+            return new FeedVersion(lastModified != null ? lastModified.toLocalDateTime() : null,
+                    rs.getLong(2), rs.getLong(3));
+        }, args);
+    }
+
+    /**
+     * Write the feed to {@code out}, reading events from a streaming cursor
+     */
+    public void writeFeed(Long userId, boolean joinedOnly, OutputStream out) throws IOException {
+        LocalDate since = LocalDate.now().minusDays(pastDays);
+        String sql = "SELECT e.id, e.name, e.description, e.event_date, e.event_time, e.location, e.address, "
+                + "e.status, e.updated_at " + (joinedOnly ? FROM_JOINED : FROM_ALL) + " ORDER BY e.event_date, e.id";
+        Object[] args = joinedOnly ? new Object[]{userId, since} : new Object[]{since};
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:" + PRODID);
+        line(writer, "CALSCALE:GREGORIAN");
+        line(writer, "X-WR-CALNAME:" + escape(joinedOnly ? "Motive Crew - My events" : "Motive Crew events"));
+        try {
+            streamingJdbcTemplate.query(sql, rs -> {
+                try {
+                    writeEvent(writer, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        line(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void writeEvent(Writer writer, ResultSet rs) throws SQLException, IOException {
+        long id = rs.getLong("id");
+        Date date = rs.getDate("event_date");
+        Time time = rs.getTime("event_time");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:event-" + id + "@motivecrew");
+        line(writer, "DTSTAMP:" + toUtc(updatedAt != null ? updatedAt.toLocalDateTime() : LocalDateTime.now()));
+        if (time != null) {
+            // Floating local time: shown at the same wall-clock time in every timezone
+            line(writer, "DTSTART:" + DATE_TIME.format(date.toLocalDate().atTime(time.toLocalTime())));
+        } else {
+            LocalDate day = date.toLocalDate();
+            line(writer, "DTSTART;VALUE=DATE:" + DATE.format(day));
+            line(writer, "DTEND;VALUE=DATE:" + DATE.format(day.plusDays(1)));
+        }
+        line(writer, "SUMMARY:" + escape(rs.getString("name")));
+        String location = joinNonBlank(rs.getString("location"), rs.getString("address"));
+        if (location != null) {
+            line(writer, "LOCATION:" + escape(location));
+        }
+        String description = rs.getString("description");
+        if (description != null && !description.isBlank()) {
+            line(writer, "DESCRIPTION:" + escape(description));
+        }
+        line(writer, "STATUS:" + ("CANCELLED".equals(rs.getString("status")) ? "CANCELLED" : "CONFIRMED"));
+        if (updatedAt != null) {
+            line(writer, "LAST-MODIFIED:" + toUtc(updatedAt.toLocalDateTime()));
+        }
+        line(writer, "END:VEVENT");
+    }
+
+    /**
+     * Write a content line, folded at 75 octets as RFC 5545 requires
+     */
+    private static void line(Writer writer, String content) throws IOException {
+        int octets = 0;
+        int limit = 75;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > limit) {
+                writer.write("\r\n ");
+                octets = 0;
+                limit = 74; // continuation lines start with a space
+            }
+            writer.write(content, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    private static String joinNonBlank(String first, String second) {
+        boolean hasFirst = first != null && !first.isBlank();
+        boolean hasSecond = second != null && !second.isBlank();
+        if (hasFirst && hasSecond) {
+            return first + ", " + second;
+        }
+        return hasFirst ? first : hasSecond ? second : null;
+    }
+
+    private static String toUtc(LocalDateTime local) {
+        return UTC_DATE_TIME.format(local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * What the ETag and Last-Modified headers are derived from
+     */
+    public record FeedVersion(LocalDateTime lastModified, long count, long idSum) {
+
+        public String etag(boolean joinedOnly) {
+            return "\"" + (joinedOnly ? "j-" : "a-")
+                    + (lastModified != null ? lastModified.toString() : "0") + "-" + count + "-" + idSum + "\"";
+        }
+
+        public long lastModifiedMillis() {
+            return lastModified != null
+                    ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : -1;
+        }
+    }
+}
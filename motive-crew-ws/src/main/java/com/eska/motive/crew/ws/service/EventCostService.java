@@ -0,0 +1,94 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.EventRepository;
+import com.eska.motive.crew.ws.repository.ExpenseRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Keeps {@code events.actual_cost} equal to the sum of the event's linked expenses.
+ *
+ * Expense writes apply the difference with a relative update in the same
+ * transaction; a periodic recompute from the expenses table corrects any drift.
+ * Events without linked expenses keep whatever cost was entered by hand; the first
+ * linked expense replaces it.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class EventCostService {
+
+    private static final String RECONCILE_LEASE = "event-cost-reconcile";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    /**
+     * Move an expense's amount from one event to another. Either side may be null
+     * (expense not linked before or after), and the event may stay the same.
+     */
+    public void expenseChanged(Long expenseId, Long oldEventId, BigDecimal oldAmount,
+                               Long newEventId, BigDecimal newAmount) {
+        BigDecimal before = oldEventId != null && oldAmount != null ? oldAmount : BigDecimal.ZERO;
+        BigDecimal after = newEventId != null && newAmount != null ? newAmount : BigDecimal.ZERO;
+        if (Objects.equals(oldEventId, newEventId)) {
+            adjust(newEventId, after.subtract(before));
+            return;
+        }
+        adjust(oldEventId, before.negate());
+        if (newEventId != null && !expenseRepository.existsByEvent_IdAndIdNot(newEventId, expenseId)) {
+            // First linked expense: the running sum starts here, not on top of a hand-entered cost
+            eventRepository.setActualCost(newEventId, after.signum() != 0 ? after : null);
+        } else {
+            adjust(newEventId, after);
+        }
+    }
+
+    /**
+     * Whether the event's actual cost follows its expenses (and so cannot be set by hand)
+     */
+    public boolean hasLinkedExpenses(Long eventId) {
+        return expenseRepository.existsByEvent_Id(eventId);
+    }
+
+    private void adjust(Long eventId, BigDecimal delta) {
+        if (eventId != null && delta.signum() != 0) {
+            eventRepository.adjustActualCost(eventId, delta);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${events.cost.reconcile-ms:3600000}",
+            initialDelayString = "${events.cost.reconcile-ms:3600000}")
+    public void reconcile() {
+        try {
+            if (schedulerLeaseService.tryAcquire(RECONCILE_LEASE, Duration.ofMinutes(5))) {
+                int corrected = eventRepository.reconcileActualCosts();
+                if (corrected > 0) {
+                    log.warn("Corrected actual cost of {} events from their expenses", corrected);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling event costs", e);
+        }
+    }
+}
@@ -11,16 +11,21 @@ import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.repository.EventParticipantRepository;
 import com.eska.motive.crew.ws.repository.EventRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.eska.motive.crew.ws.util.DateRange;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Service for managing events
@@ -40,19 +45,33 @@ public class EventService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UpcomingEventsCache upcomingEventsCache;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private EventCostService eventCostService;
+
+    @Autowired
+    private LockedMonths lockedMonths;
+
     /**
      * Get all events with filters
      */
     public Page<Event> getAllEvents(Event.EventStatus status, Event.EventType type,
                                     Integer month, Integer year, String search, Pageable pageable) {
-        return eventRepository.findByFilters(status, type, month, year, search, pageable);
+        DateRange range = DateRange.ofMonth(month, year);
+        return eventRepository.findByFilters(status, type, range.from(), range.to(), range.monthOfAnyYear(),
+                search, pageable);
     }
 
     /**
-     * Get event by ID
+     * Get event by ID, with its participants loaded
      */
     public Event getEventById(Long id) throws ResourceNotFoundException {
-        return eventRepository.findById(id)
+        return eventRepository.findByIdWithParticipants(id)
                 .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
     }
 
@@ -84,12 +103,17 @@ public class EventService {
                     .location(request.getLocation())
                     .address(request.getAddress())
                     .estimatedCost(request.getEstimatedCost())
+                    .capacity(request.getCapacity())
                     .status(Event.EventStatus.UPCOMING)
                     .imageUrl(request.getImageUrl())
                     .createdBy(currentUser)
                     .build();
 
-            return eventRepository.save(event);
+            Event saved = eventRepository.save(event);
+            upcomingEventsCache.invalidateAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
+            lockedMonths.publishChanged(saved.getEventDate());
+            return saved;
 
         } catch (ValidationException e) {
             throw e;
@@ -113,6 +137,7 @@ public class EventService {
 
             Event event = eventRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
+            LocalDate oldDate = event.getEventDate();
 
             // Update fields
             if (request.getName() != null) {
@@ -146,8 +171,23 @@ public class EventService {
             if (request.getImageUrl() != null) {
                 event.setImageUrl(request.getImageUrl());
             }
+            boolean capacityRaised = request.getCapacity() != null
+                    && (event.getCapacity() == null || request.getCapacity() > event.getCapacity());
+            if (request.getCapacity() != null) {
+                event.setCapacity(request.getCapacity());
+            }
 
-            return eventRepository.save(event);
+            Event saved = eventRepository.saveAndFlush(event);
+            upcomingEventsCache.invalidateAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
+            lockedMonths.publishChanged(oldDate, saved.getEventDate());
+            if (capacityRaised) {
+                int promoted = fillFromWaitlist(saved.getId());
+                if (promoted > 0) {
+                    log.info("Promoted {} waitlisted participants after raising capacity of event {}", promoted, id);
+                }
+            }
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -178,6 +218,9 @@ public class EventService {
             }
 
             eventRepository.delete(event);
+            upcomingEventsCache.invalidateAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
+            lockedMonths.publishChanged(event.getEventDate());
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -188,13 +231,18 @@ public class EventService {
     }
 
     /**
-     * Join an event
+     * Join an event, or take a place on its waitlist when it is full.
+     *
+     * The event row is locked first, as in {@link #leaveEvent}. The participation row is
+     * then claimed (insert-ignore on the unique event/user key, or re-claiming a LEFT row),
+     * and a seat is taken with a conditional increment of {@code joined_count}, so
+     * concurrent joiners can never overfill the event.
      */
     @Transactional
     public EventParticipant joinEvent(Long eventId, User user)
             throws ResourceNotFoundException, ValidationException, InternalErrorException {
         try {
-            Event event = eventRepository.findById(eventId)
+            Event event = eventRepository.findByIdForUpdate(eventId)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
             // Check if event is still upcoming
@@ -202,26 +250,25 @@ public class EventService {
                 throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
             }
 
-            // Check if already joined
-            Optional<EventParticipant> existing = participantRepository.findByEventAndUser(event, user);
-            if (existing.isPresent()) {
-                EventParticipant participant = existing.get();
-                if (participant.getStatus() == EventParticipant.ParticipantStatus.JOINED) {
-                    throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
-                }
-                // Rejoin
-                participant.setStatus(EventParticipant.ParticipantStatus.JOINED);
-                return participantRepository.save(participant);
+            LocalDateTime now = LocalDateTime.now();
+            boolean claimed = participantRepository.insertWaitlisted(eventId, user.getId(), now) > 0
+                    || participantRepository.rejoinWaitlisted(eventId, user.getId(), now) > 0;
+            if (!claimed) {
+                // Already joined or waitlisted
+                throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
             }
 
-            // Create new participation
-            EventParticipant participant = EventParticipant.builder()
-                    .event(event)
-                    .user(user)
-                    .status(EventParticipant.ParticipantStatus.JOINED)
-                    .build();
+            if (eventRepository.tryTakeSeat(eventId) > 0
+                    && participantRepository.promote(eventId, user.getId()) == 0) {
+                // A concurrent leave already promoted us with its own seat; give this one back
+                eventRepository.adjustJoinedCount(eventId, -1);
+            }
 
-            return participantRepository.save(participant);
+            upcomingEventsCache.invalidateAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
+            lockedMonths.publishChanged(event.getEventDate());
+            return participantRepository.findByEventAndUser(event, user)
+                    .orElseThrow(() -> new InternalErrorException(StatusCode.INTERNAL_ERROR));
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -232,24 +279,34 @@ public class EventService {
     }
 
     /**
-     * Leave an event
+     * Leave an event. A joined participant's seat passes to the head of the waitlist.
+     *
+     * The event row is locked before any participant row. Otherwise a leave holding its
+     * own row and the waitlist rows it scanned could wait on a joiner or another leave
+     * that in turn waits on it, and the database would abort one of them as a deadlock.
      */
     @Transactional
     public void leaveEvent(Long eventId, User user)
             throws ResourceNotFoundException, ValidationException, InternalErrorException {
         try {
-            Event event = eventRepository.findById(eventId)
+            Event event = eventRepository.findByIdForUpdate(eventId)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
             EventParticipant participant = participantRepository.findByEventAndUser(event, user)
                     .orElseThrow(() -> new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR));
 
-            if (participant.getStatus() == EventParticipant.ParticipantStatus.LEFT) {
+            EventParticipant.ParticipantStatus status = participant.getStatus();
+            if (status == EventParticipant.ParticipantStatus.LEFT
+                    || participantRepository.markLeft(eventId, user.getId(), status.name()) == 0) {
                 throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
             }
 
-            participant.setStatus(EventParticipant.ParticipantStatus.LEFT);
-            participantRepository.save(participant);
+            if (status == EventParticipant.ParticipantStatus.JOINED) {
+                releaseSeat(eventId);
+                upcomingEventsCache.invalidateAfterCommit();
+                dashboardCache.invalidateAllAfterCommit();
+                lockedMonths.publishChanged(event.getEventDate());
+            }
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -259,29 +316,60 @@ public class EventService {
         }
     }
 
+    /**
+     * Hand a freed seat to the first waitlisted participant, or drop it when there is
+     * no one waiting or the event is over a lowered capacity
+     */
+    private void releaseSeat(Long eventId) {
+        // The caller holds the event lock, so no other transaction is picking a head for this event
+        List<EventParticipant> head = participantRepository.findWaitlistHeadForUpdate(eventId, PageRequest.of(0, 1));
+        if (eventRepository.releaseSeatIfOverCapacity(eventId) > 0) {
+            return;
+        }
+        if (head.isEmpty() || participantRepository.promote(eventId, head.get(0).getUser().getId()) == 0) {
+            eventRepository.adjustJoinedCount(eventId, -1);
+        }
+    }
+
+    /**
+     * Promote waitlisted participants in order while there are free seats
+     *
+     * @return number of participants promoted
+     */
+    private int fillFromWaitlist(Long eventId) {
+        int promoted = 0;
+        while (true) {
+            List<EventParticipant> head = participantRepository.findWaitlistHeadForUpdate(eventId, PageRequest.of(0, 1));
+            if (head.isEmpty() || eventRepository.tryTakeSeat(eventId) == 0) {
+                return promoted;
+            }
+            participantRepository.promote(eventId, head.get(0).getUser().getId());
+            promoted++;
+        }
+    }
+
     /**
      * Get upcoming events
      */
     public List<Event> getUpcomingEvents(int limit) {
-        LocalDate today = LocalDate.now();
-        return eventRepository.findByEventDateAfterAndStatusOrderByEventDateAsc(today, Event.EventStatus.UPCOMING)
-                .stream()
-                .limit(limit)
-                .toList();
+        return upcomingEventsCache.getNext(limit);
     }
 
     /**
      * Get completed events
      */
     public Page<Event> getCompletedEvents(Integer month, Integer year, Pageable pageable) {
-        return eventRepository.findByFilters(Event.EventStatus.COMPLETED, null, month, year, null, pageable);
+        DateRange range = DateRange.ofMonth(month, year);
+        return eventRepository.findByFilters(Event.EventStatus.COMPLETED, null, range.from(), range.to(),
+                range.monthOfAnyYear(), null, pageable);
     }
 
     /**
-     * Update event status
+     * Update event status and, optionally, the actual cost. Once expenses are linked the
+     * cost follows them (see {@link EventCostService}) and setting it by hand is rejected.
      */
     @Transactional
-    public Event updateEventStatus(Long id, Event.EventStatus status, java.math.BigDecimal actualCost, User currentUser)
+    public Event updateEventStatus(Long id, Event.EventStatus status, BigDecimal actualCost, User currentUser)
             throws ResourceNotFoundException, ValidationException, InternalErrorException {
         try {
             // Only admin can update status
@@ -292,12 +380,24 @@ public class EventService {
             Event event = eventRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
+            // Validate before touching the entity: a checked exception does not roll back,
+            // so a change made first would still be flushed on commit
+            if (actualCost != null && eventCostService.hasLinkedExpenses(id)) {
+                throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+            }
+
             event.setStatus(status);
             if (actualCost != null) {
                 event.setActualCost(actualCost);
             }
 
-            return eventRepository.save(event);
+            Event saved = eventRepository.save(event);
+            upcomingEventsCache.invalidateAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
+            if (actualCost != null) {
+                lockedMonths.publishChanged(saved.getEventDate());
+            }
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -311,7 +411,20 @@ public class EventService {
      * Get participants count for an event
      */
     public long getParticipantsCount(Event event) {
-        return participantRepository.countByEventAndStatus(event, EventParticipant.ParticipantStatus.JOINED);
+        return event.getJoinedCount();
+    }
+
+    /**
+     * Bring joined counts in line with the participants table on startup
+     * (covers events created before the column existed)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recountJoinedParticipants() {
+        try {
+            eventRepository.recountJoined();
+        } catch (Exception e) {
+            log.error("Error recounting event participants", e);
+        }
     }
 }
 
@@ -11,6 +11,7 @@ import com.eska.motive.crew.ws.exception.ValidationException;
 import com.eska.motive.crew.ws.repository.EventRepository;
 import com.eska.motive.crew.ws.repository.ExpenseRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.eska.motive.crew.ws.util.DateRange;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -19,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,12 +42,23 @@ public class ExpenseService {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private EventCostService eventCostService;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private LockedMonths lockedMonths;
+
     /**
      * Get all expenses with filters
      */
     public Page<Expense> getAllExpenses(Integer month, Integer year, Expense.ExpenseCategory category,
                                        Long eventId, Long paidById, String search, Pageable pageable) {
-        return expenseRepository.findByFilters(month, year, category, eventId, paidById, search, pageable);
+        DateRange range = DateRange.ofMonth(month, year);
+        return expenseRepository.findByFilters(range.from(), range.to(), range.monthOfAnyYear(),
+                category, eventId, paidById, search, pageable);
     }
 
     /**
@@ -99,7 +112,12 @@ public class ExpenseService {
                     .receiptUrl(request.getReceiptUrl())
                     .build();
 
-            return expenseRepository.save(expense);
+            Expense saved = expenseRepository.save(expense);
+            eventCostService.expenseChanged(saved.getId(), null, null, request.getEventId(), saved.getAmount());
+            dashboardCache.invalidateAfterCommit(saved.getExpenseDate());
+            lockedMonths.publishChanged(saved.getExpenseDate(),
+                    event != null ? event.getEventDate() : null);
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -123,6 +141,10 @@ public class ExpenseService {
 
             Expense expense = expenseRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
+            Long oldEventId = expense.getEvent() != null ? expense.getEvent().getId() : null;
+            BigDecimal oldAmount = expense.getAmount();
+            LocalDate oldDate = expense.getExpenseDate();
+            LocalDate oldEventDate = expense.getEvent() != null ? expense.getEvent().getEventDate() : null;
 
             // Update fields
             if (request.getTitle() != null) {
@@ -158,7 +180,14 @@ public class ExpenseService {
                 expense.setReceiptUrl(request.getReceiptUrl());
             }
 
-            return expenseRepository.save(expense);
+            Expense saved = expenseRepository.save(expense);
+            eventCostService.expenseChanged(saved.getId(), oldEventId, oldAmount,
+                    saved.getEvent() != null ? saved.getEvent().getId() : null, saved.getAmount());
+            dashboardCache.invalidateAfterCommit(oldDate);
+            dashboardCache.invalidateAfterCommit(saved.getExpenseDate());
+            lockedMonths.publishChanged(oldDate, saved.getExpenseDate(), oldEventDate,
+                    saved.getEvent() != null ? saved.getEvent().getEventDate() : null);
+            return saved;
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -184,6 +213,11 @@ public class ExpenseService {
                     .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
             expenseRepository.delete(expense);
+            eventCostService.expenseChanged(expense.getId(), expense.getEvent() != null ? expense.getEvent().getId() : null,
+                    expense.getAmount(), null, null);
+            dashboardCache.invalidateAfterCommit(expense.getExpenseDate());
+            lockedMonths.publishChanged(expense.getExpenseDate(),
+                    expense.getEvent() != null ? expense.getEvent().getEventDate() : null);
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -197,12 +231,13 @@ public class ExpenseService {
      * Get expenses summary for a month
      */
     public ExpenseSummary getExpenseSummary(Integer month, Integer year) {
-        BigDecimal totalSpent = expenseRepository.getTotalSpentByMonth(month, year);
+        DateRange range = DateRange.ofMonth(month, year);
+        BigDecimal totalSpent = expenseRepository.getTotalSpentBetween(range.from(), range.to());
         if (totalSpent == null) {
             totalSpent = BigDecimal.ZERO;
         }
 
-        List<Object[]> categoryData = expenseRepository.getExpensesByCategory(month, year);
+        List<Object[]> categoryData = expenseRepository.getExpensesByCategoryBetween(range.from(), range.to());
         
         return ExpenseSummary.builder()
                 .month(month)
@@ -0,0 +1,204 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.ScheduledExpiry;
+import com.eska.motive.crew.ws.enums.ExpiryTarget;
+import com.eska.motive.crew.ws.repository.AnnouncementRepository;
+import com.eska.motive.crew.ws.repository.ScheduledExpiryRepository;
+import com.eska.motive.crew.ws.util.HashedTimingWheel;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Transitions polls and announcements when they reach their expiry.
+ *
+ * Every deadline is persisted in {@code scheduled_expiries}. The node holding the
+ * {@value #LEASE_NAME} lease periodically loads the deadlines falling within the
+ * next horizon into a timing wheel; due entries are collected and closed in batched
+ * updates once per drain interval, then their rows are removed. Because the due
+ * table is the source of truth, deadlines missed while no node was running are
+ * picked up on the next load.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class ExpiryScheduler {
+
+    static final String LEASE_NAME = "expiry-scheduler";
+
+    @Autowired
+    private ScheduledExpiryRepository scheduledExpiryRepository;
+
+    @Autowired
+    private PollCloser pollCloser;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private ActiveAnnouncementCache activeAnnouncementCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${expiry.scheduler.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${expiry.scheduler.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${expiry.scheduler.horizon-ms:600000}")
+    private long horizonMs;
+
+    @Value("${expiry.scheduler.lease-ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    @Value("${expiry.scheduler.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${expiry.scheduler.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private HashedTimingWheel<ExpiryKey> wheel;
+
+    private final Queue<ExpiryKey> due = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean backfilled;
+
+    @PostConstruct
+    void start() {
+        wheel = new HashedTimingWheel<>("expiry", tickMs, wheelSize);
+        wheel.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        wheel.stop();
+    }
+
+    /**
+     * Record (or move) the expiry of a poll or announcement; a null deadline cancels it.
+     * Call from inside the transaction that writes the target.
+     */
+    public void schedule(ExpiryTarget targetType, Long targetId, LocalDateTime dueAt) {
+        ExpiryKey key = new ExpiryKey(targetType, targetId);
+        if (dueAt == null) {
+            scheduledExpiryRepository.deleteByTarget(targetType, targetId);
+            TransactionUtil.afterCommit(() -> wheel.cancel(key));
+            return;
+        }
+        scheduledExpiryRepository.upsert(targetType.name(), targetId, dueAt);
+        TransactionUtil.afterCommit(() -> arm(key, dueAt));
+    }
+
+    /**
+     * Load deadlines within the horizon into the wheel; only the lease holder does this
+     */
+    @Scheduled(fixedDelayString = "${expiry.scheduler.load-ms:30000}",
+            initialDelayString = "${expiry.scheduler.initial-delay-ms:5000}")
+    public void loadDue() {
+        try {
+            if (!holdsLease()) {
+                return;
+            }
+            if (!backfilled) {
+                Integer registered = transactionTemplate.execute(status -> scheduledExpiryRepository.backfill());
+                backfilled = true;
+                log.info("Registered {} existing expiries with the expiry scheduler", registered);
+            }
+            LocalDateTime horizon = LocalDateTime.now().plus(Duration.ofMillis(horizonMs));
+            List<ScheduledExpiry> rows = scheduledExpiryRepository
+                    .findByDueAtLessThanEqualOrderByDueAtAsc(horizon, PageRequest.of(0, loadBatchSize));
+            for (ScheduledExpiry row : rows) {
+                arm(new ExpiryKey(row.getTargetType(), row.getTargetId()), row.getDueAt());
+            }
+        } catch (Exception e) {
+            log.error("Error loading scheduled expiries", e);
+        }
+    }
+
+    /**
+     * Apply every expiry that fired since the last drain in batched updates
+     */
+    @Scheduled(fixedDelayString = "${expiry.scheduler.drain-ms:1000}")
+    public void drain() {
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<ExpiryTarget, List<Long>> byType = new EnumMap<>(ExpiryTarget.class);
+        ExpiryKey key;
+        while ((key = due.poll()) != null) {
+            byType.computeIfAbsent(key.targetType(), type -> new ArrayList<>()).add(key.targetId());
+        }
+
+        try {
+            if (!holdsLease()) {
+                // Another node owns the due table; it will process these from its own load
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int closedPolls = transition(ExpiryTarget.POLL, byType, now);
+            int archivedAnnouncements = transition(ExpiryTarget.ANNOUNCEMENT, byType, now);
+            if (archivedAnnouncements > 0) {
+                activeAnnouncementCache.reload();
+            }
+            log.debug("Expiry drain closed {} polls and archived {} announcements",
+                    closedPolls, archivedAnnouncements);
+        } catch (Exception e) {
+            // Rows stay in the due table and are re-armed on the next load
+            log.error("Error applying scheduled expiries", e);
+        }
+    }
+
+    private int transition(ExpiryTarget targetType, Map<ExpiryTarget, List<Long>> byType, LocalDateTime now) {
+        List<Long> ids = byType.getOrDefault(targetType, List.of());
+        int transitioned = 0;
+        for (int from = 0; from < ids.size(); from += maxBatchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + maxBatchSize, ids.size()));
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = targetType == ExpiryTarget.POLL
+                        ? pollCloser.closeExpired(batch, now)
+                        : announcementRepository.archiveExpired(batch, now);
+                scheduledExpiryRepository.deleteDue(targetType, batch, now);
+                return count;
+            });
+            transitioned += updated != null ? updated : 0;
+        }
+        return transitioned;
+    }
+
+    private void arm(ExpiryKey key, LocalDateTime dueAt) {
+        long deadline = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (deadline - System.currentTimeMillis() <= horizonMs) {
+            wheel.schedule(key, deadline, due::add);
+        }
+    }
+
+    private boolean holdsLease() {
+        return schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMillis(leaseTtlMs));
+    }
+
+    private record ExpiryKey(ExpiryTarget targetType, Long targetId) {
+    }
+}
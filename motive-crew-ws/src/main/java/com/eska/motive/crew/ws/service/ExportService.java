@@ -0,0 +1,384 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.contract.StatusCode;
+import com.eska.motive.crew.ws.entity.Expense;
+import com.eska.motive.crew.ws.entity.MemberPayment;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.util.DateRange;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk exports of members, payments and expenses as CSV or JSON Lines.
+ *
+ * Rows are written to the response as they are read from a forward-only JDBC
+ * cursor, so memory use does not depend on the number of rows. The filters match
+ * the ones of the paged list endpoints.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class ExportService {
+
+    private static final String MEMBERS_SQL = """
+            SELECT u.id, u.name, u.email, u.phone, u.role, u.position, u.is_active, u.joined_date,
+                   COALESCE(j.events_joined, 0) AS events_joined,
+                   COALESCE(t.total_contribution, 0) AS total_contribution
+            FROM users u
+            LEFT JOIN (SELECT user_id, COUNT(*) AS events_joined FROM event_participants
+                       WHERE status = 'JOINED' GROUP BY user_id) j ON j.user_id = u.id
+            LEFT JOIN (SELECT user_id, SUM(amount) AS total_contribution FROM member_payments
+                       WHERE status = 'PAID' GROUP BY user_id) t ON t.user_id = u.id
+            """;
+
+    private static final String PAYMENTS_SQL = """
+            SELECT p.id, c.year, c.month, p.collection_id, p.user_id AS member_id, u.name AS member_name,
+                   u.email AS member_email, p.amount, p.status, p.payment_date, p.notes
+            FROM member_payments p
+            JOIN monthly_collections c ON c.id = p.collection_id
+            JOIN users u ON u.id = p.user_id
+            """;
+
+    private static final String EXPENSES_SQL = """
+            SELECT e.id, e.title, e.amount, e.category, e.description, e.expense_date,
+                   e.event_id, ev.name AS event_name, e.paid_by_id, pb.name AS paid_by_name, e.created_at
+            FROM expenses e
+            LEFT JOIN events ev ON ev.id = e.event_id
+            JOIN users pb ON pb.id = e.paid_by_id
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        // MySQL Connector/J streams rows one at a time with this fetch size instead of buffering the result
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Exports include contact details and every member's payments: admins only
+     */
+    public void checkAccess(User currentUser) throws ValidationException {
+        if (currentUser.getRole() != User.UserRole.ADMIN) {
+            throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+        }
+    }
+
+    /**
+     * Members, filtered like {@code GET /api/v1/members}
+     */
+    public void exportMembers(String search, User.UserRole role, Boolean isActive, Format format, OutputStream out)
+            throws IOException {
+        Where where = new Where();
+        if (search != null) {
+            String pattern = "%" + search.toLowerCase() + "%";
+            where.add("(LOWER(u.name) LIKE ? OR LOWER(u.email) LIKE ?)", pattern, pattern);
+        }
+        if (role != null) {
+            where.add("u.role = ?", role.name());
+        }
+        if (isActive != null) {
+            where.add("u.is_active = ?", isActive);
+        }
+        export("members", MEMBERS_SQL + where.sql() + " ORDER BY u.id", where.args(), format, out);
+    }
+
+    /**
+     * Member payments, optionally limited to one collection, month or status
+     */
+    public void exportPayments(Long collectionId, Integer month, Integer year, MemberPayment.PaymentStatus status,
+                               Format format, OutputStream out) throws IOException {
+        Where where = new Where();
+        if (collectionId != null) {
+            where.add("p.collection_id = ?", collectionId);
+        }
+        if (year != null) {
+            where.add("c.year = ?", year);
+        }
+        if (month != null) {
+            where.add("c.month = ?", month);
+        }
+        if (status != null) {
+            where.add("p.status = ?", status.name());
+        }
+        export("payments", PAYMENTS_SQL + where.sql() + " ORDER BY c.year, c.month, p.id", where.args(), format, out);
+    }
+
+    /**
+     * Expenses, filtered like {@code GET /api/v1/expenses}
+     */
+    public void exportExpenses(Integer month, Integer year, Expense.ExpenseCategory category, Long eventId,
+                               Long paidById, String search, Format format, OutputStream out) throws IOException {
+        DateRange range = DateRange.ofMonth(month, year);
+        Where where = new Where();
+        if (range.from() != null) {
+            where.add("e.expense_date >= ?", range.from());
+        }
+        if (range.to() != null) {
+            where.add("e.expense_date < ?", range.to());
+        }
+        if (range.monthOfAnyYear() != null) {
+            where.add("MONTH(e.expense_date) = ?", range.monthOfAnyYear());
+        }
+        if (category != null) {
+            where.add("e.category = ?", category.name());
+        }
+        if (eventId != null) {
+            where.add("e.event_id = ?", eventId);
+        }
+        if (paidById != null) {
+            where.add("e.paid_by_id = ?", paidById);
+        }
+        if (search != null) {
+            where.add("LOWER(e.title) LIKE ?", "%" + search.toLowerCase() + "%");
+        }
+        export("expenses", EXPENSES_SQL + where.sql() + " ORDER BY e.expense_date, e.id", where.args(), format, out);
+    }
+
+    private void export(String name, String sql, Object[] args, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new JsonLinesRowWriter(writer);
+        ResultSetExtractor<Long> extractor = rs -> {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] columns = new String[meta.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = meta.getColumnLabel(i + 1);
+                }
+                rows.start(columns);
+                long count = 0;
+                while (rs.next()) {
+                    rows.row(columns, rs);
+                    count++;
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        Long count;
+        try {
+            count = streamingJdbcTemplate.query(sql, extractor, args);
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+        rows.finish();
+        writer.flush();
+        log.info("Exported {} {} rows as {} in {} ms", count, name, format, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Column value with JDBC date types turned into their java.time equivalents
+     */
+    private static Object valueOf(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSONL("application/x-ndjson", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) throws ValidationException {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+        }
+    }
+
+    private interface RowWriter {
+        void start(String[] columns) throws IOException;
+
+        void row(String[] columns, ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header line; starts with a BOM so spreadsheets read it as UTF-8
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(String[] columns) throws IOException {
+            writer.write('\uFEFF');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(String[] columns, ResultSet rs) throws IOException, SQLException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = valueOf(rs, i + 1);
+                if (value instanceof BigDecimal decimal) {
+                    writer.write(decimal.toPlainString());
+                } else if (value instanceof String text) {
+                    writeText(text);
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeText(String text) throws IOException {
+            // Keep spreadsheets from evaluating user-entered text as a formula
+            if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name
+     */
+    private final class JsonLinesRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        JsonLinesRowWriter(Writer writer) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            // Values are separated by the newline written after each row, not by the default space
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        public void start(String[] columns) {
+        }
+
+        @Override
+        public void row(String[] columns, ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                Object value = valueOf(rs, i + 1);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * WHERE clause built from optional filters, with positional arguments
+     */
+    private static final class Where {
+
+        private final List<String> conditions = new ArrayList<>();
+        private final List<Object> args = new ArrayList<>();
+
+        void add(String condition, Object... values) {
+            conditions.add(condition);
+            args.addAll(List.of(values));
+        }
+
+        String sql() {
+            return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        }
+
+        Object[] args() {
+            return args.toArray();
+        }
+    }
+}
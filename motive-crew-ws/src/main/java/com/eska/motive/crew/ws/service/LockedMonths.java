@@ -0,0 +1,80 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Months whose collection is locked, held in memory so that write paths can tell
+ * without a query whether a change touches a frozen monthly report.
+ *
+ * Locking is one-way, so the set only grows. It is loaded at startup, extended when a
+ * collection is locked on this node and reloaded periodically for locks made on other
+ * nodes. A change made on another node before its reload is not published; the report
+ * is rebuilt once more after a reload interval to take such changes in (see
+ * {@link ReportService#onCollectionLocked}).
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class LockedMonths {
+
+    @Autowired
+    private MonthlyCollectionRepository collectionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Set<YearMonth> locked = ConcurrentHashMap.newKeySet();
+
+    // Until the first load every month may be locked
+    private volatile boolean loaded;
+
+    public boolean isLocked(YearMonth month) {
+        return !loaded || locked.contains(month);
+    }
+
+    /**
+     * Publish {@link ReportService.MonthsChanged} for those of the dates that fall in a
+     * locked month; nothing is published when none does
+     */
+    public void publishChanged(LocalDate... dates) {
+        Set<YearMonth> months = ReportService.MonthsChanged.of(dates).months().stream()
+                .filter(this::isLocked)
+                .collect(Collectors.toSet());
+        if (!months.isEmpty()) {
+            eventPublisher.publishEvent(new ReportService.MonthsChanged(months));
+        }
+    }
+
+    /**
+     * Load the locked months at startup and pick up locks made by other nodes
+     */
+    @Scheduled(fixedDelayString = "${reports.locked-months.reload-ms:60000}")
+    public void reload() {
+        try {
+            collectionRepository.findLockedMonths()
+                    .forEach(month -> locked.add(YearMonth.of(month.getYear(), month.getMonth())));
+            loaded = true;
+        } catch (Exception e) {
+            log.error("Error loading locked months", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCollectionLocked(ContributionService.CollectionLocked event) {
+        locked.add(YearMonth.of(event.year(), event.month()));
+    }
+}
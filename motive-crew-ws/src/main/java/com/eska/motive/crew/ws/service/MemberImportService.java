@@ -0,0 +1,521 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.contract.StatusCode;
+import com.eska.motive.crew.ws.dto.request.CreateMemberRequest;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.InternalErrorException;
+import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk member import from a CSV or JSON upload, run as a background job.
+ *
+ * The upload is read as a stream and handled in chunks: each chunk is validated,
+ * checked for taken emails with one query, has its passwords hashed in parallel on
+ * a fixed-size pool, and is inserted with batched statements (see
+ * {@link MemberService#createMembers}). Progress and per-row errors are kept on the
+ * job, which lives in memory on the node that runs it.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class MemberImportService {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${members.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${members.import.hash-threads:4}")
+    private int hashThreads;
+
+    @Value("${members.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${members.import.retention-ms:86400000}")
+    private long retentionMs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService jobExecutor;
+
+    private ExecutorService hashExecutor;
+
+    @PostConstruct
+    void init() {
+        // One import at a time; the others wait their turn
+        jobExecutor = Executors.newSingleThreadExecutor(daemonThreads("member-import"));
+        hashExecutor = Executors.newFixedThreadPool(hashThreads, daemonThreads("member-import-hash"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Queue an import of the uploaded file; {@code format} is "csv" or "json" and is
+     * taken from the file name when omitted
+     */
+    public ImportJob startImport(MultipartFile file, String format, User currentUser)
+            throws ValidationException, InternalErrorException {
+        // Only admin can import members
+        if (currentUser.getRole() != User.UserRole.ADMIN) {
+            throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+        }
+        boolean csv = isCsv(format != null ? format : file.getOriginalFilename());
+
+        try {
+            // The upload is gone once the request ends, so the job reads its own copy
+            Path copy = Files.createTempFile("member-import-", csv ? ".csv" : ".json");
+            file.transferTo(copy);
+
+            purgeFinishedJobs();
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), csv ? "CSV" : "JSON",
+                    currentUser.getId(), maxErrors);
+            jobs.put(job.getId(), job);
+            jobExecutor.execute(() -> run(job, copy, csv));
+            return job;
+        } catch (Exception e) {
+            log.error("Error starting member import", e);
+            throw new InternalErrorException(StatusCode.INTERNAL_ERROR);
+        }
+    }
+
+    public ImportJob getJob(String jobId, User currentUser) throws ResourceNotFoundException, ValidationException {
+        if (currentUser.getRole() != User.UserRole.ADMIN) {
+            throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+        }
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException(StatusCode.NOT_FOUND);
+        }
+        return job;
+    }
+
+    private boolean isCsv(String formatOrFilename) throws ValidationException {
+        String value = formatOrFilename == null ? "" : formatOrFilename.toLowerCase(Locale.ROOT);
+        if (value.equals("csv") || value.endsWith(".csv")) {
+            return true;
+        }
+        if (value.equals("json") || value.endsWith(".json") || value.endsWith(".jsonl") || value.endsWith(".ndjson")) {
+            return false;
+        }
+        throw new ValidationException(StatusCode.GENERAL_FIELD_VALIDATION_ERROR);
+    }
+
+    private void run(ImportJob job, Path file, boolean csv) {
+        job.started();
+        long start = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowSource source = csv ? new CsvRowSource(reader) : new JsonRowSource(reader);
+            List<Row> chunk = new ArrayList<>(batchSize);
+            int number = 0;
+            CreateMemberRequest request;
+            while ((request = source.next()) != null) {
+                chunk.add(new Row(++number, request));
+                if (chunk.size() == batchSize) {
+                    processChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk);
+            }
+            job.finished(null);
+            log.info("Member import {} done in {} ms: {} read, {} imported, {} failed", job.getId(),
+                    System.currentTimeMillis() - start, job.getRowsRead(), job.getImported(), job.getFailed());
+        } catch (Exception e) {
+            log.error("Member import {} failed", job.getId(), e);
+            // Unreadable input is worth showing to the uploader; anything else is internal
+            job.finished(e instanceof IOException && e.getMessage() != null ? e.getMessage() : "INTERNAL_ERROR");
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void processChunk(ImportJob job, List<Row> chunk) {
+        job.read(chunk.size());
+
+        // Field validation and duplicates within the chunk
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (Row row : chunk) {
+            Set<ConstraintViolation<CreateMemberRequest>> violations = validator.validate(row.request());
+            if (!violations.isEmpty()) {
+                ConstraintViolation<CreateMemberRequest> violation = violations.iterator().next();
+                job.rowFailed(row, "INVALID_ROW", violation.getPropertyPath() + ": " + violation.getMessage());
+            } else if (!seen.add(normalize(row.request().getEmail()))) {
+                job.rowFailed(row, "DUPLICATE_EMAIL", null);
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Emails already registered (including by earlier chunks), in one query
+        Set<String> taken = new HashSet<>();
+        userRepository.findExistingEmails(candidates.stream().map(row -> row.request().getEmail()).toList())
+                .forEach(email -> taken.add(normalize(email)));
+        List<Row> accepted = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (taken.contains(normalize(row.request().getEmail()))) {
+                job.rowFailed(row, "EMAIL_EXISTS", null);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            // BCrypt is deliberately slow: spread the chunk over the hashing pool
+            List<CompletableFuture<String>> hashes = new ArrayList<>(accepted.size());
+            for (Row row : accepted) {
+                String password = row.request().getPassword() != null ? row.request().getPassword() : MemberService.DEFAULT_PASSWORD;
+                hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashExecutor));
+            }
+
+            List<MemberService.NewMember> members = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                CreateMemberRequest request = accepted.get(i).request();
+                User.UserRole role = "admin".equalsIgnoreCase(request.getRole())
+                        ? User.UserRole.ADMIN
+                        : User.UserRole.MEMBER;
+                members.add(new MemberService.NewMember(request.getName(), request.getEmail(), request.getPhone(),
+                        hashes.get(i).join(), role, request.getPosition()));
+            }
+
+            List<MemberService.InsertOutcome> outcomes = memberService.createMembers(members);
+            for (int i = 0; i < accepted.size(); i++) {
+                switch (outcomes.get(i)) {
+                    case CREATED -> job.imported();
+                    // Registered by someone else since the check above
+                    case EMAIL_EXISTS -> job.rowFailed(accepted.get(i), "EMAIL_EXISTS", null);
+                    case FAILED -> job.rowFailed(accepted.get(i), "INSERT_FAILED", null);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error importing members {} to {} of job {}", accepted.get(0).number(),
+                    accepted.get(accepted.size() - 1).number(), job.getId(), e);
+            accepted.forEach(row -> job.rowFailed(row, "INTERNAL_ERROR", null));
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Row(int number, CreateMemberRequest request) {
+    }
+
+    private interface RowSource {
+        /**
+         * Next row, or null at the end of the input
+         */
+        CreateMemberRequest next() throws IOException;
+    }
+
+    /**
+     * A JSON array of member objects, or one object per line
+     */
+    private final class JsonRowSource implements RowSource {
+
+        private final MappingIterator<CreateMemberRequest> iterator;
+
+        JsonRowSource(Reader reader) throws IOException {
+            iterator = objectMapper.readerFor(CreateMemberRequest.class).readValues(reader);
+        }
+
+        @Override
+        public CreateMemberRequest next() throws IOException {
+            return iterator.hasNextValue() ? iterator.nextValue() : null;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line naming the columns (name, email, phone,
+     * position, role, password); unknown columns are ignored
+     */
+    static final class CsvRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = nextRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("email")) {
+                throw new IOException("CSV header must include name and email columns");
+            }
+        }
+
+        @Override
+        public CreateMemberRequest next() throws IOException {
+            List<String> record;
+            do {
+                record = nextRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            return CreateMemberRequest.builder()
+                    .name(field(record, "name"))
+                    .email(field(record, "email"))
+                    .phone(field(record, "phone"))
+                    .position(field(record, "position"))
+                    .role(field(record, "role"))
+                    .password(field(record, "password"))
+                    .build();
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Next record's fields, or null at the end of the input. Quoted fields may
+         * contain commas, doubled quotes and line breaks.
+         */
+        private List<String> nextRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Progress of one import
+     */
+    public static final class ImportJob {
+
+        private final String id;
+        private final String format;
+        private final Long startedBy;
+        private final int maxErrors;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<RowError> errors = new ArrayList<>();
+
+        private String status = "QUEUED";
+        private String failure;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private int rowsRead;
+        private int imported;
+        private int failed;
+
+        ImportJob(String id, String format, Long startedBy, int maxErrors) {
+            this.id = id;
+            this.format = format;
+            this.startedBy = startedBy;
+            this.maxErrors = maxErrors;
+        }
+
+        synchronized void started() {
+            status = "RUNNING";
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void finished(String failure) {
+            this.status = failure == null ? "COMPLETED" : "FAILED";
+            this.failure = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void read(int rows) {
+            rowsRead += rows;
+        }
+
+        synchronized void imported() {
+            imported++;
+        }
+
+        synchronized void rowFailed(Row row, String error, String detail) {
+            failed++;
+            // Only the first errors are kept; the count covers them all
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(row.number(), row.request().getEmail(), error, detail));
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public Long getStartedBy() {
+            return startedBy;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public synchronized String getStatus() {
+            return status;
+        }
+
+        public synchronized String getFailure() {
+            return failure;
+        }
+
+        public synchronized LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public synchronized LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public synchronized int getRowsRead() {
+            return rowsRead;
+        }
+
+        public synchronized int getImported() {
+            return imported;
+        }
+
+        public synchronized int getFailed() {
+            return failed;
+        }
+
+        public synchronized List<RowError> getErrors() {
+            return List.copyOf(errors);
+        }
+
+        public synchronized boolean isErrorsTruncated() {
+            return failed > errors.size();
+        }
+    }
+
+    /**
+     * A rejected row: its 1-based position in the file, its email and the reason
+     */
+    public record RowError(int row, String email, String error, String detail) {
+    }
+}
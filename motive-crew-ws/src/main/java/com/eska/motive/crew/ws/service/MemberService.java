@@ -4,21 +4,21 @@ import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.dto.request.CreateMemberRequest;
 import com.eska.motive.crew.ws.dto.request.UpdateMemberRequest;
 import com.eska.motive.crew.ws.dto.response.UserDTO;
-import com.eska.motive.crew.ws.entity.MemberPayment;
-import com.eska.motive.crew.ws.entity.MonthlyCollection;
 import com.eska.motive.crew.ws.entity.User;
 import com.eska.motive.crew.ws.entity.UserPreferences;
 import com.eska.motive.crew.ws.exception.InternalErrorException;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.EventParticipantRepository;
 import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
-import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
 import com.eska.motive.crew.ws.repository.UserPreferencesRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,12 +26,24 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.sql.BatchUpdateException;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -43,6 +55,24 @@ import java.util.UUID;
 @Log4j2
 public class MemberService {
 
+    /**
+     * Password of members created without one
+     */
+    static final String DEFAULT_PASSWORD = "defaultPassword123";
+
+    /**
+     * Plain INSERT rather than INSERT IGNORE: IGNORE would also turn truncation and
+     * NOT NULL errors into warnings and store the damaged row
+     */
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (name, email, phone, password_hash, role, position, is_active, joined_date, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?)";
+
+    private static final String INSERT_PREFERENCES_SQL =
+            "INSERT IGNORE INTO user_preferences (user_id, notifications_enabled, dark_mode, language, auto_login, "
+                    + "default_month, created_at, updated_at) "
+                    + "SELECT u.id, TRUE, FALSE, 'en', TRUE, 'CURRENT', ?, ? FROM users u WHERE u.email IN (%s)";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -50,20 +80,31 @@ public class MemberService {
     private UserPreferencesRepository preferencesRepository;
 
     @Autowired
-    private MonthlyCollectionRepository collectionRepository;
+    private MemberPaymentRepository paymentRepository;
 
     @Autowired
-    private MemberPaymentRepository paymentRepository;
+    private EventParticipantRepository participantRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CollectionStatsCache collectionStatsCache;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     /**
-     * Get all members with pagination and filters
+     * Get all members with pagination and filters.
+     * The page's figures come from three grouped queries, whatever the page size.
      */
     public Page<UserDTO> getAllMembers(String search, User.UserRole role, Boolean isActive, Pageable pageable) {
         Page<User> users = userRepository.findByFilters(search, role, isActive, pageable);
-        return users.map(this::convertToDTO);
+        MemberFigures figures = loadFigures(users.getContent());
+        return users.map(user -> convertToDTO(user, figures));
     }
 
     /**
@@ -98,7 +139,7 @@ public class MemberService {
                     .email(request.getEmail())
                     .phone(request.getPhone())
                     .passwordHash(passwordEncoder.encode(
-                            request.getPassword() != null ? request.getPassword() : "defaultPassword123"))
+                            request.getPassword() != null ? request.getPassword() : DEFAULT_PASSWORD))
                     .role(role)
                     .position(request.getPosition())
                     .isActive(true)
@@ -106,6 +147,8 @@ public class MemberService {
                     .build();
 
             user = userRepository.save(user);
+            collectionStatsCache.invalidateOpenAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
 
             // Create default preferences
             UserPreferences preferences = UserPreferences.builder()
@@ -128,6 +171,74 @@ public class MemberService {
         }
     }
 
+    /**
+     * Insert members with already hashed passwords, plus their default preferences,
+     * in two batched statements. A row the database rejects does not stop the others;
+     * the outcome of each row is returned in input order.
+     */
+    @Transactional
+    public List<InsertOutcome> createMembers(List<NewMember> members) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date today = Date.valueOf(LocalDate.now());
+        List<Object[]> rows = new ArrayList<>(members.size());
+        for (NewMember member : members) {
+            rows.add(new Object[]{member.name(), member.email(), member.phone(), member.passwordHash(),
+                    member.role().name(), member.position(), today, now, now});
+        }
+        int[] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows);
+        } catch (DataAccessException e) {
+            // The driver runs the rest of the batch after a failed row and reports each row's count
+            if (!(e.getCause() instanceof BatchUpdateException batch)) {
+                throw e;
+            }
+            log.warn("Some of {} members were not inserted: {}", members.size(), e.getMostSpecificCause().getMessage());
+            counts = batch.getUpdateCounts();
+        }
+        List<InsertOutcome> outcomes = insertOutcomes(members, counts);
+
+        // Preferences by email, so the generated user ids never need to be read back
+        List<Object> args = new ArrayList<>(members.size() + 2);
+        args.add(now);
+        args.add(now);
+        members.forEach(member -> args.add(member.email()));
+        jdbcTemplate.update(String.format(INSERT_PREFERENCES_SQL, String.join(",", Collections.nCopies(members.size(), "?"))),
+                args.toArray());
+
+        collectionStatsCache.invalidateOpenAfterCommit();
+        dashboardCache.invalidateAllAfterCommit();
+        return outcomes;
+    }
+
+    /**
+     * A failed row whose email is now registered lost the race for it; any other
+     * failure was the row itself
+     */
+    private List<InsertOutcome> insertOutcomes(List<NewMember> members, int[] counts) {
+        List<InsertOutcome> outcomes = new ArrayList<>(members.size());
+        List<String> failedEmails = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            // Rows past the end of the counts were never run
+            boolean inserted = i < counts.length && (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO);
+            outcomes.add(inserted ? InsertOutcome.CREATED : InsertOutcome.FAILED);
+            if (!inserted) {
+                failedEmails.add(members.get(i).email());
+            }
+        }
+        if (failedEmails.isEmpty()) {
+            return outcomes;
+        }
+        Set<String> taken = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        taken.addAll(userRepository.findExistingEmails(failedEmails));
+        for (int i = 0; i < members.size(); i++) {
+            if (outcomes.get(i) == InsertOutcome.FAILED && taken.contains(members.get(i).email())) {
+                outcomes.set(i, InsertOutcome.EMAIL_EXISTS);
+            }
+        }
+        return outcomes;
+    }
+
     /**
      * Update member information
      */
@@ -194,6 +305,8 @@ public class MemberService {
             // Soft delete
             user.setIsActive(false);
             userRepository.save(user);
+            collectionStatsCache.invalidateOpenAfterCommit();
+            dashboardCache.invalidateAllAfterCommit();
 
         } catch (ResourceNotFoundException | ValidationException e) {
             throw e;
@@ -280,36 +393,42 @@ public class MemberService {
      * Convert User entity to UserDTO
      */
     private UserDTO convertToDTO(User user) {
-        // Get current month payment status
+        return convertToDTO(user, loadFigures(List.of(user)));
+    }
+
+    /**
+     * Current month status, events joined and total contribution for a set of users,
+     * keyed by user id
+     */
+    private MemberFigures loadFigures(List<User> users) {
+        if (users.isEmpty()) {
+            return new MemberFigures(Map.of(), Map.of(), Map.of());
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
         LocalDate now = LocalDate.now();
-        Optional<MonthlyCollection> currentCollection = collectionRepository
-                .findByYearAndMonth(now.getYear(), now.getMonthValue());
-
-        String currentMonthStatus = "pending";
-        LocalDate lastPaymentDate = null;
-        if (currentCollection.isPresent()) {
-            Optional<MemberPayment> payment = paymentRepository
-                    .findByUserAndCollection(user, currentCollection.get());
-            if (payment.isPresent() && payment.get().getStatus() == MemberPayment.PaymentStatus.PAID) {
-                currentMonthStatus = "paid";
-                lastPaymentDate = payment.get().getPaymentDate();
-            }
+
+        Map<Long, LocalDate> paidThisMonth = new HashMap<>();
+        for (MemberPaymentRepository.PaidMonth row
+                : paymentRepository.findPaidInMonth(now.getYear(), now.getMonthValue(), userIds)) {
+            paidThisMonth.put(row.getUserId(), row.getPaymentDate());
+        }
+
+        Map<Long, Integer> eventsJoined = new HashMap<>();
+        for (EventParticipantRepository.JoinedCount row : participantRepository.countJoinedByUsers(userIds)) {
+            eventsJoined.put(row.getUserId(), row.getJoined().intValue());
+        }
+
+        Map<Long, BigDecimal> totalContribution = new HashMap<>();
+        for (MemberPaymentRepository.PaidTotal row : paymentRepository.sumPaidByUsers(userIds)) {
+            totalContribution.put(row.getUserId(), row.getTotal());
         }
 
-        // Count events joined
-        int eventsJoined = user.getEventParticipants() != null
-                ? (int) user.getEventParticipants().stream()
-                        .filter(p -> p.getStatus() == com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus.JOINED)
-                        .count()
-                : 0;
-
-        // Calculate total contribution
-        java.math.BigDecimal totalContribution = user.getPayments() != null
-                ? user.getPayments().stream()
-                        .filter(p -> p.getStatus() == MemberPayment.PaymentStatus.PAID)
-                        .map(MemberPayment::getAmount)
-                        .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add)
-                : java.math.BigDecimal.ZERO;
+        return new MemberFigures(paidThisMonth, eventsJoined, totalContribution);
+    }
+
+    private UserDTO convertToDTO(User user, MemberFigures figures) {
+        // A member counts as paid for the month only once a PAID payment exists
+        boolean paid = figures.paidThisMonth().containsKey(user.getId());
 
         return UserDTO.builder()
                 .id(user.getId())
@@ -321,11 +440,33 @@ public class MemberService {
                 .avatarUrl(user.getAvatarUrl())
                 .isActive(user.getIsActive())
                 .joinedDate(user.getJoinedDate())
-                .currentMonthStatus(currentMonthStatus)
-                .lastPaymentDate(lastPaymentDate)
-                .eventsJoined(eventsJoined)
-                .totalContribution(totalContribution)
+                .currentMonthStatus(paid ? "paid" : "pending")
+                .lastPaymentDate(figures.paidThisMonth().get(user.getId()))
+                .eventsJoined(figures.eventsJoined().getOrDefault(user.getId(), 0))
+                .totalContribution(figures.totalContribution().getOrDefault(user.getId(), BigDecimal.ZERO))
                 .build();
     }
-}
 
+    /**
+     * Member to insert with {@link #createMembers}
+     */
+    public record NewMember(String name, String email, String phone, String passwordHash, User.UserRole role,
+                            String position) {
+    }
+
+    /**
+     * What became of one row passed to {@link #createMembers}
+     */
+    public enum InsertOutcome {
+        CREATED,
+        /** The email was registered by someone else in the meantime */
+        EMAIL_EXISTS,
+        /** Rejected by the database, e.g. a value too long for its column */
+        FAILED
+    }
+
+    private record MemberFigures(Map<Long, LocalDate> paidThisMonth,
+                                 Map<Long, Integer> eventsJoined,
+                                 Map<Long, BigDecimal> totalContribution) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Notification;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.repository.NotificationRepository;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces notifications that refer to the same target.
+ *
+ * Notifications with the same user, type and related target that arrive within
+ * the configured window are merged in memory into a single pending row whose
+ * occurrence count is incremented. Pending rows are written in batches once
+ * their window has elapsed. A notification only enters the window once the
+ * transaction that created it commits, and rows that fail to save are put back
+ * and retried up to {@code notifications.coalesce.max-attempts} times.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class NotificationCoalescer {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Value("${notifications.coalesce.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${notifications.coalesce.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${notifications.coalesce.max-attempts:5}")
+    private int maxAttempts;
+
+    private final Map<CoalesceKey, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Add a notification to the pending window once the current transaction commits,
+     * merging it into an existing pending notification for the same target if there
+     * is one. Nothing is queued when the transaction rolls back.
+     */
+    public void submitAfterCommit(User user, Notification.NotificationType type,
+                                  String title, String message, Long relatedId, String relatedType) {
+        TransactionUtil.afterCommit(() -> submit(user, type, title, message, relatedId, relatedType));
+    }
+
+    private void submit(User user, Notification.NotificationType type,
+                        String title, String message, Long relatedId, String relatedType) {
+        CoalesceKey key = new CoalesceKey(user.getId(), type, relatedType, relatedId);
+        pending.compute(key, (k, existing) -> {
+            if (existing == null) {
+                Notification notification = Notification.builder()
+                        .user(user)
+                        .type(type)
+                        .title(title)
+                        .message(message)
+                        .relatedId(relatedId)
+                        .relatedType(relatedType)
+                        .isRead(false)
+                        .occurrenceCount(1)
+                        .build();
+                return new Pending(notification, System.currentTimeMillis(), 0);
+            }
+            // Keep the latest wording, count every occurrence
+            existing.notification.setTitle(title);
+            existing.notification.setMessage(message);
+            existing.notification.setOccurrenceCount(existing.notification.getOccurrenceCount() + 1);
+            return existing;
+        });
+    }
+
+    /**
+     * Number of notifications currently held in the pending window
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write every pending notification whose window has elapsed
+     */
+    @Scheduled(fixedDelayString = "${notifications.coalesce.flush-interval-ms:5000}")
+    public void flushDue() {
+        flush(System.currentTimeMillis() - windowMs);
+    }
+
+    /**
+     * Write everything still pending on shutdown so no notification is lost
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long openedBefore) {
+        List<Pending> due = new ArrayList<>();
+        for (CoalesceKey key : pending.keySet()) {
+            // Remove under the map's per-key lock so no merge can land after we drain the entry
+            pending.computeIfPresent(key, (k, entry) -> {
+                if (entry.openedAt <= openedBefore) {
+                    due.add(entry);
+                    return null;
+                }
+                return entry;
+            });
+        }
+
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int saved = 0;
+        for (int from = 0; from < due.size(); from += maxBatchSize) {
+            List<Pending> batch = due.subList(from, Math.min(from + maxBatchSize, due.size()));
+            try {
+                notificationRepository.saveAll(batch.stream().map(Pending::notification).toList());
+                saved += batch.size();
+            } catch (Exception e) {
+                log.warn("Error flushing {} coalesced notifications, saving them one by one", batch.size(), e);
+                // The batch rolled back as a whole; isolate the rows that really fail
+                for (Pending entry : batch) {
+                    entry.notification.setId(null);
+                    try {
+                        notificationRepository.save(entry.notification);
+                        saved++;
+                    } catch (Exception rowError) {
+                        entry.notification.setId(null);
+                        requeue(entry, rowError);
+                    }
+                }
+            }
+        }
+
+        int merged = due.stream().mapToInt(entry -> entry.notification.getOccurrenceCount() - 1).sum();
+        log.debug("Flushed {} of {} coalesced notifications ({} merged occurrences)", saved, due.size(), merged);
+    }
+
+    /**
+     * Put a notification that could not be saved back in the window, merged with
+     * anything that arrived for the same target meanwhile
+     */
+    private void requeue(Pending failed, Exception cause) {
+        int attempts = failed.attempts + 1;
+        Notification notification = failed.notification;
+        if (attempts >= maxAttempts) {
+            log.error("Dropping notification for user {} ({} {}) after {} failed attempts",
+                    notification.getUser().getId(), notification.getRelatedType(), notification.getRelatedId(),
+                    attempts, cause);
+            return;
+        }
+        CoalesceKey key = new CoalesceKey(notification.getUser().getId(), notification.getType(),
+                notification.getRelatedType(), notification.getRelatedId());
+        pending.merge(key, new Pending(notification, failed.openedAt, attempts), (newer, retry) -> {
+            newer.notification.setOccurrenceCount(newer.notification.getOccurrenceCount()
+                    + retry.notification.getOccurrenceCount());
+            return new Pending(newer.notification, retry.openedAt, retry.attempts);
+        });
+    }
+
+    private record CoalesceKey(Long userId, Notification.NotificationType type, String relatedType, Long relatedId) {
+    }
+
+    private record Pending(Notification notification, long openedAt, int attempts) {
+    }
+}
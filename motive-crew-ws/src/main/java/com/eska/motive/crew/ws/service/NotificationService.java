@@ -13,6 +13,7 @@ import com.eska.motive.crew.ws.repository.NotificationRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -39,6 +40,12 @@ public class NotificationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+
+    @Value("${notifications.coalesce.enabled:true}")
+    private boolean coalesceEnabled;
+
     /**
      * Get all notifications for a user
      */
@@ -188,7 +195,10 @@ public class NotificationService {
     }
 
     /**
-     * Create notification for a user
+     * Create notification for a user.
+     * Notifications tied to a related target are coalesced: once the current transaction
+     * commits, repeated events for the same user, type and target within the coalescing
+     * window are merged into one row, so the returned notification is not persisted yet.
      */
     @Transactional
     public Notification createNotification(User user, Notification.NotificationType type,
@@ -203,6 +213,11 @@ public class NotificationService {
                 .isRead(false)
                 .build();
 
+        if (isCoalescable(relatedId)) {
+            notificationCoalescer.submitAfterCommit(user, type, title, message, relatedId, relatedType);
+            return notification;
+        }
+
         return notificationRepository.save(notification);
     }
 
@@ -212,6 +227,12 @@ public class NotificationService {
     @Transactional
     public void createNotificationsForUsers(List<User> users, Notification.NotificationType type,
                                             String title, String message, Long relatedId, String relatedType) {
+        if (isCoalescable(relatedId)) {
+            users.forEach(user ->
+                    notificationCoalescer.submitAfterCommit(user, type, title, message, relatedId, relatedType));
+            return;
+        }
+
         List<Notification> notifications = users.stream()
                 .map(user -> Notification.builder()
                         .user(user)
@@ -226,5 +247,8 @@ public class NotificationService {
 
         notificationRepository.saveAll(notifications);
     }
-}
 
+    private boolean isCoalescable(Long relatedId) {
+        return coalesceEnabled && relatedId != null;
+    }
+}
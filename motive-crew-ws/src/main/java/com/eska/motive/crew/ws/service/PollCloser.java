@@ -0,0 +1,156 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.response.PollResultSnapshot;
+import com.eska.motive.crew.ws.entity.Poll;
+import com.eska.motive.crew.ws.entity.PollOption;
+import com.eska.motive.crew.ws.enums.PollStatus;
+import com.eska.motive.crew.ws.enums.PollType;
+import com.eska.motive.crew.ws.repository.PollRepository;
+import com.eska.motive.crew.ws.repository.PollVoteRepository;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Closes polls and freezes their final result.
+ *
+ * Used by the expiry scheduler, the lazy expiry check when voting and the manual close
+ * endpoint, so a poll is closed (and counted in the poll statistics) exactly once
+ * whichever gets there first. The final result is computed from the recorded votes and
+ * stored on the poll as a {@link PollResultSnapshot}, which is served from then on.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class PollCloser {
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private PollVoteRepository pollVoteRepository;
+
+    @Autowired
+    private PollStatsService pollStatsService;
+
+    @Autowired
+    private PollTallyEngine pollTallyEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Close those of the given polls that are still active and past their deadline
+     *
+     * @return number of polls closed
+     */
+    @Transactional
+    public int closeExpired(Collection<Long> pollIds, LocalDateTime now) {
+        return close(pollRepository.findExpiredActiveForUpdate(pollIds, now));
+    }
+
+    /**
+     * Close an active poll regardless of its deadline
+     *
+     * @return true if the poll was active and is now closed
+     */
+    @Transactional
+    public boolean closeNow(Long pollId) {
+        return close(pollRepository.findActiveForUpdate(pollId)) == 1;
+    }
+
+    private int close(List<Poll> polls) {
+        for (Poll poll : polls) {
+            poll.setStatus(PollStatus.CLOSED);
+            poll.setResultSnapshot(serialize(snapshot(poll)));
+        }
+        if (!polls.isEmpty()) {
+            pollStatsService.adjust(-polls.size(), polls.size(), 0, 0);
+            List<Long> closedIds = polls.stream().map(Poll::getId).toList();
+            TransactionUtil.afterCommit(() -> closedIds.forEach(pollTallyEngine::evict));
+        }
+        return polls.size();
+    }
+
+    private PollResultSnapshot snapshot(Poll poll) {
+        List<PollOption> options = poll.getOptions();
+        Map<Long, Long> votes = new LinkedHashMap<>();
+        List<Map<Long, Long>> rounds = new ArrayList<>();
+        long voters;
+        Long winnerOptionId = null;
+
+        if (poll.getType() == PollType.SINGLE) {
+            // Count from the vote rows: stored option counts may still have deltas pending on other nodes
+            Map<Long, Long> counted = new LinkedHashMap<>();
+            pollVoteRepository.countVotesByOption(poll.getId())
+                    .forEach(row -> counted.put(row.getOptionId(), row.getVotes()));
+            options.forEach(option -> votes.put(option.getId(), counted.getOrDefault(option.getId(), 0L)));
+            voters = votes.values().stream().mapToLong(Long::longValue).sum();
+            winnerOptionId = votes.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        } else {
+            PollTallyEngine.Tally tally = pollTallyEngine.getTally(poll.getId(), poll.getType(), options.size(), true);
+            for (int position = 0; position < options.size(); position++) {
+                options.get(position).setVotesCount((int) tally.counts()[position]);
+                votes.put(options.get(position).getId(), tally.counts()[position]);
+            }
+            for (long[] round : tally.rounds()) {
+                Map<Long, Long> roundVotes = new LinkedHashMap<>();
+                for (int position = 0; position < options.size(); position++) {
+                    roundVotes.put(options.get(position).getId(), round[position]);
+                }
+                rounds.add(roundVotes);
+            }
+            voters = tally.voters();
+            if (tally.winner() >= 0) {
+                winnerOptionId = options.get(tally.winner()).getId();
+            }
+        }
+
+        long counted = votes.values().stream().mapToLong(Long::longValue).sum();
+        long percentageBase = poll.getType() == PollType.MULTI ? voters : counted;
+        List<PollResultSnapshot.OptionResult> optionResults = new ArrayList<>();
+        for (PollOption option : options) {
+            long optionVotes = votes.get(option.getId());
+            optionResults.add(PollResultSnapshot.OptionResult.builder()
+                    .id(option.getId())
+                    .label(option.getLabel())
+                    .votes(optionVotes)
+                    .percentage(percentageBase == 0 ? 0 : (optionVotes * 100.0) / percentageBase)
+                    .build());
+        }
+
+        return PollResultSnapshot.builder()
+                .voters(voters)
+                .totalVotes(poll.getType() == PollType.SINGLE ? counted : voters)
+                .winnerOptionId(winnerOptionId)
+                .options(optionResults)
+                .rounds(rounds)
+                .build();
+    }
+
+    private String serialize(PollResultSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            // Without a snapshot the poll is still served from its live counts
+            log.error("Error serializing result snapshot", e);
+            return null;
+        }
+    }
+}
@@ -2,21 +2,31 @@ package com.eska.motive.crew.ws.service;
 
 import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.dto.request.CreatePollRequest;
+import com.eska.motive.crew.ws.dto.response.PollResultSnapshot;
 import com.eska.motive.crew.ws.entity.Poll;
 import com.eska.motive.crew.ws.entity.PollOption;
+import com.eska.motive.crew.ws.entity.PollStats;
 import com.eska.motive.crew.ws.entity.PollVote;
 import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.enums.ExpiryTarget;
 import com.eska.motive.crew.ws.enums.PollStatus;
+import com.eska.motive.crew.ws.enums.PollType;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.PollBallotRepository;
+import com.eska.motive.crew.ws.repository.PollBallotRepository.UserBallotView;
+import com.eska.motive.crew.ws.repository.PollOptionRepository;
 import com.eska.motive.crew.ws.repository.PollRepository;
 import com.eska.motive.crew.ws.repository.PollVoteRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -41,40 +51,79 @@ public class PollService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private PollVoteTally pollVoteTally;
+
+    @Autowired
+    private PollOptionRepository pollOptionRepository;
+
+    @Autowired
+    private PollStatsService pollStatsService;
+
+    @Autowired
+    private PollBallotRepository pollBallotRepository;
+
+    @Autowired
+    private PollTallyEngine pollTallyEngine;
+
+    @Autowired
+    private PollCloser pollCloser;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Transactional(readOnly = true)
-    public PollListResult listPolls(User user, String statusParam, String search) {
+    public PollListResult listPolls(User user, String statusParam, String search, Long cursor, Integer limit) {
         PollStatus statusFilter = parseStatus(statusParam);
         String searchValue = StringUtils.hasText(search) ? search.trim() : null;
-
-        List<Poll> polls;
-        if (statusFilter != null && searchValue != null) {
-            polls = pollRepository.findByStatusAndTitleContainingIgnoreCaseOrderByCreatedAtDesc(statusFilter, searchValue);
-        } else if (statusFilter != null) {
-            polls = pollRepository.findByStatusOrderByCreatedAtDesc(statusFilter);
-        } else if (searchValue != null) {
-            polls = pollRepository.findByTitleContainingIgnoreCaseOrderByCreatedAtDesc(searchValue);
-        } else {
-            polls = pollRepository.findAllByOrderByCreatedAtDesc();
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        // Fetch one extra row to know whether there is a next page
+        List<Poll> polls = new ArrayList<>(pollRepository.findPage(statusFilter, searchValue, cursor,
+                PageRequest.of(0, pageSize + 1)));
+        Long nextCursor = null;
+        if (polls.size() > pageSize) {
+            polls = polls.subList(0, pageSize);
+            nextCursor = polls.get(pageSize - 1).getId();
         }
 
-        Map<Long, Long> userVotes = Collections.emptyMap();
-        if (user != null && !polls.isEmpty()) {
-            List<PollVote> votes = pollVoteRepository.findByUserAndPollIn(user, polls);
-            userVotes = votes.stream()
-                    .collect(Collectors.toMap(vote -> vote.getPoll().getId(), vote -> vote.getOption().getId()));
+        Map<Long, List<PollOption>> optionsByPoll = Collections.emptyMap();
+        Map<Long, List<Long>> userVotes = Collections.emptyMap();
+        if (!polls.isEmpty()) {
+            // Closed polls with a result snapshot are rendered from it and need no options
+            List<Long> livePollIds = polls.stream()
+                    .filter(poll -> poll.getResultSnapshot() == null)
+                    .map(Poll::getId)
+                    .toList();
+            if (!livePollIds.isEmpty()) {
+                optionsByPoll = pollOptionRepository.findByPollIds(livePollIds).stream()
+                        .collect(Collectors.groupingBy(option -> option.getPoll().getId()));
+            }
+            if (user != null) {
+                userVotes = findUserVotes(user, polls, optionsByPoll);
+            }
         }
 
+        PollStats pollStats = pollStatsService.getStats();
         PollStatsResult stats = PollStatsResult.builder()
-                .activeCount(pollRepository.countByStatus(PollStatus.ACTIVE))
-                .closedCount(pollRepository.countByStatus(PollStatus.CLOSED))
-                .totalVotes(pollVoteRepository.count())
-                .participationRate(calculateParticipationRate())
+                .activeCount(pollStats.getActiveCount())
+                .closedCount(pollStats.getClosedCount())
+                .totalVotes(pollStats.getTotalVotes() + pollVoteTally.getPendingTotal())
+                .participationRate(calculateParticipationRate(pollStats.getDistinctVoters()))
                 .build();
 
         return PollListResult.builder()
                 .polls(polls)
+                .optionsByPoll(optionsByPoll)
                 .userVotes(userVotes)
                 .stats(stats)
+                .nextCursor(nextCursor)
                 .build();
     }
 
@@ -95,10 +144,21 @@ public class PollService {
             throw new ValidationException("At least two options are required");
         }
 
+        PollType type = parseType(request.getType());
+        if (type == PollType.MULTI && optionLabels.size() > PollTallyEngine.MAX_MULTI_OPTIONS) {
+            throw new ValidationException("Multi-select polls support at most "
+                    + PollTallyEngine.MAX_MULTI_OPTIONS + " options");
+        }
+        if (type == PollType.RANKED && optionLabels.size() > PollTallyEngine.MAX_RANKED_OPTIONS) {
+            throw new ValidationException("Ranked polls support at most "
+                    + PollTallyEngine.MAX_RANKED_OPTIONS + " options");
+        }
+
         Poll poll = Poll.builder()
                 .title(request.getTitle().trim())
                 .description(StringUtils.hasText(request.getDescription()) ? request.getDescription().trim() : null)
                 .status(PollStatus.ACTIVE)
+                .type(type)
                 .expiresAt(parseDeadline(request.getExpiresAt()))
                 .createdBy(currentUser)
                 .build();
@@ -111,11 +171,16 @@ public class PollService {
                     .build());
         }
 
-        return pollRepository.save(poll);
+        Poll saved = pollRepository.save(poll);
+        pollStatsService.adjust(1, 0, 0, 0);
+        if (saved.getExpiresAt() != null) {
+            expiryScheduler.schedule(ExpiryTarget.POLL, saved.getId(), saved.getExpiresAt());
+        }
+        return saved;
     }
 
     @Transactional
-    public Poll vote(User user, Long pollId, Long optionId)
+    public Poll vote(User user, Long pollId, Long optionId, List<Long> optionIds)
             throws ResourceNotFoundException, ValidationException {
         Poll poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
@@ -124,35 +189,187 @@ public class PollService {
             throw new ValidationException("Poll is not active");
         }
 
-        if (poll.getExpiresAt() != null && poll.getExpiresAt().isBefore(LocalDateTime.now())) {
-            poll.setStatus(PollStatus.CLOSED);
-            pollRepository.save(poll);
+        LocalDateTime now = LocalDateTime.now();
+        if (poll.getExpiresAt() != null && poll.getExpiresAt().isBefore(now)) {
+            // Normally closed by the expiry scheduler; close here if the vote beat it
+            pollCloser.closeExpired(List.of(poll.getId()), now);
             throw new ValidationException("Poll has already expired");
         }
 
-        if (pollVoteRepository.findByPollAndUser(poll, user).isPresent()) {
+        if (poll.getType() != PollType.SINGLE) {
+            castBallot(user, poll, optionIds, now);
+            return poll;
+        }
+
+        if (optionId == null) {
+            throw new ValidationException("Option ID is required");
+        }
+        boolean validOption = poll.getOptions().stream()
+                .anyMatch(option -> option.getId().equals(optionId));
+        if (!validOption) {
+            throw new ValidationException("Invalid option selected");
+        }
+
+        // The unique (poll_id, user_id) key is the only duplicate check, so double submits cannot both count
+        int recorded = pollVoteRepository.insertIgnore(poll.getId(), optionId, user.getId(), now);
+        if (recorded == 0) {
             throw new ValidationException("You have already voted for this poll");
         }
+        TransactionUtil.afterCommit(() -> pollVoteTally.record(optionId));
 
-        Optional<PollOption> optionOptional = poll.getOptions().stream()
-                .filter(option -> option.getId().equals(optionId))
-                .findFirst();
+        return poll;
+    }
 
-        if (optionOptional.isEmpty()) {
-            throw new ValidationException("Invalid option selected");
+    @Transactional
+    public Poll closePoll(User currentUser, Long pollId) throws ValidationException, ResourceNotFoundException {
+        if (currentUser == null || currentUser.getRole() != User.UserRole.ADMIN) {
+            throw new ValidationException(StatusCode.USER_ACCESS_DENIED);
+        }
+        if (!pollRepository.existsById(pollId)) {
+            throw new ResourceNotFoundException(StatusCode.NOT_FOUND);
         }
+        if (!pollCloser.closeNow(pollId)) {
+            throw new ValidationException("Poll is not active");
+        }
+        expiryScheduler.schedule(ExpiryTarget.POLL, pollId, null);
+        return pollRepository.findById(pollId)
+                .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
+    }
 
-        PollOption option = optionOptional.get();
-        option.setVotesCount(option.getVotesCount() + 1);
+    /**
+     * Frozen result of a closed poll, if one was stored when it closed
+     */
+    public Optional<PollResultSnapshot> getSnapshot(Poll poll) {
+        if (poll.getResultSnapshot() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(poll.getResultSnapshot(), PollResultSnapshot.class));
+        } catch (Exception e) {
+            log.error("Unreadable result snapshot for poll {}", poll.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Current result of a poll: votes and percentage per option, voter count and leading option
+     */
+    public PollResult getResult(Poll poll, List<PollOption> options) {
+        Map<Long, Long> votes = new LinkedHashMap<>();
+        List<Map<Long, Long>> rounds = new ArrayList<>();
+        long voters;
+        long percentageBase;
+        Long winnerOptionId = null;
+
+        if (poll.getType() == PollType.SINGLE || poll.getStatus() == PollStatus.CLOSED) {
+            for (PollOption option : options) {
+                votes.put(option.getId(), (long) getVotesCount(option));
+            }
+            long total = votes.values().stream().mapToLong(Long::longValue).sum();
+            voters = poll.getType() == PollType.SINGLE ? total : pollBallotRepository.countByPoll_Id(poll.getId());
+            percentageBase = poll.getType() == PollType.MULTI ? voters : total;
+            winnerOptionId = votes.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        } else {
+            PollTallyEngine.Tally tally = pollTallyEngine.getTally(poll.getId(), poll.getType(), options.size(), false);
+            for (int position = 0; position < options.size(); position++) {
+                votes.put(options.get(position).getId(), tally.counts()[position]);
+            }
+            for (long[] round : tally.rounds()) {
+                Map<Long, Long> roundVotes = new LinkedHashMap<>();
+                for (int position = 0; position < options.size(); position++) {
+                    roundVotes.put(options.get(position).getId(), round[position]);
+                }
+                rounds.add(roundVotes);
+            }
+            voters = tally.voters();
+            percentageBase = poll.getType() == PollType.MULTI
+                    ? voters
+                    : votes.values().stream().mapToLong(Long::longValue).sum();
+            if (tally.winner() >= 0) {
+                winnerOptionId = options.get(tally.winner()).getId();
+            }
+        }
+
+        Map<Long, Double> percentages = new LinkedHashMap<>();
+        votes.forEach((id, count) -> percentages.put(id, percentageBase == 0 ? 0 : (count * 100.0) / percentageBase));
 
-        PollVote pollVote = PollVote.builder()
-                .poll(poll)
-                .option(option)
-                .user(user)
+        return PollResult.builder()
+                .voters(voters)
+                .votes(votes)
+                .percentages(percentages)
+                .winnerOptionId(winnerOptionId)
+                .rounds(rounds)
                 .build();
-        pollVoteRepository.save(pollVote);
+    }
+
+    /**
+     * Current vote count for an option, including votes not yet flushed to the database
+     */
+    public int getVotesCount(PollOption option) {
+        return option.getVotesCount() + (int) pollVoteTally.getPending(option.getId());
+    }
+
+    private void castBallot(User user, Poll poll, List<Long> optionIds, LocalDateTime now)
+            throws ValidationException {
+        if (optionIds == null || optionIds.isEmpty()) {
+            throw new ValidationException("At least one option must be selected");
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        List<PollOption> options = poll.getOptions();
+        for (int position = 0; position < options.size(); position++) {
+            positions.put(options.get(position).getId(), position);
+        }
+        List<Integer> chosen = new ArrayList<>();
+        for (Long id : optionIds) {
+            Integer position = positions.get(id);
+            if (position == null || chosen.contains(position)) {
+                throw new ValidationException("Invalid option selected");
+            }
+            chosen.add(position);
+        }
 
-        return pollRepository.save(poll);
+        long ballot = poll.getType() == PollType.RANKED
+                ? PollTallyEngine.encodeRanking(chosen)
+                : PollTallyEngine.encodeSelection(chosen);
+        if (pollBallotRepository.insertIgnore(poll.getId(), user.getId(), ballot, now) == 0) {
+            throw new ValidationException("You have already voted for this poll");
+        }
+        TransactionUtil.afterCommit(() -> {
+            pollVoteTally.recordBallot();
+            pollTallyEngine.markStale(poll.getId());
+        });
+    }
+
+    private Map<Long, List<Long>> findUserVotes(User user, List<Poll> polls, Map<Long, List<PollOption>> optionsByPoll) {
+        Map<Long, List<Long>> userVotes = new HashMap<>();
+        for (PollVote vote : pollVoteRepository.findByUserAndPollIn(user, polls)) {
+            userVotes.put(vote.getPoll().getId(), List.of(vote.getOption().getId()));
+        }
+
+        Map<Long, Poll> ballotPolls = polls.stream()
+                .filter(poll -> poll.getType() != PollType.SINGLE)
+                .collect(Collectors.toMap(Poll::getId, poll -> poll));
+        if (!ballotPolls.isEmpty()) {
+            for (UserBallotView ballot : pollBallotRepository.findUserBallots(user.getId(), ballotPolls.keySet())) {
+                Poll poll = ballotPolls.get(ballot.getPollId());
+                List<Long> optionIds = getSnapshot(poll)
+                        .map(snapshot -> snapshot.getOptions().stream().map(PollResultSnapshot.OptionResult::getId).toList())
+                        .orElseGet(() -> optionsByPoll.getOrDefault(poll.getId(), Collections.emptyList()).stream()
+                                .map(PollOption::getId)
+                                .toList());
+                List<Long> chosen = PollTallyEngine.decode(poll.getType(), ballot.getBallot())
+                        .stream()
+                        .filter(position -> position < optionIds.size())
+                        .map(optionIds::get)
+                        .toList();
+                userVotes.put(ballot.getPollId(), chosen);
+            }
+        }
+        return userVotes;
     }
 
     private PollStatus parseStatus(String statusParam) {
@@ -167,6 +384,17 @@ public class PollService {
         }
     }
 
+    private PollType parseType(String typeParam) throws ValidationException {
+        if (!StringUtils.hasText(typeParam)) {
+            return PollType.SINGLE;
+        }
+        try {
+            return PollType.valueOf(typeParam.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid poll type");
+        }
+    }
+
     private LocalDateTime parseDeadline(String deadline) throws ValidationException {
         if (!StringUtils.hasText(deadline)) {
             return null;
@@ -183,12 +411,11 @@ public class PollService {
         }
     }
 
-    private double calculateParticipationRate() {
+    private double calculateParticipationRate(long uniqueVoters) {
         long totalMembers = userRepository.count();
         if (totalMembers == 0) {
             return 0;
         }
-        long uniqueVoters = pollVoteRepository.countDistinctUserIds();
         return (uniqueVoters * 100.0) / totalMembers;
     }
 
@@ -198,8 +425,11 @@ public class PollService {
     public static class PollListResult {
         private List<Poll> polls;
         @Builder.Default
-        private Map<Long, Long> userVotes = Collections.emptyMap();
+        private Map<Long, List<PollOption>> optionsByPoll = Collections.emptyMap();
+        @Builder.Default
+        private Map<Long, List<Long>> userVotes = Collections.emptyMap();
         private PollStatsResult stats;
+        private Long nextCursor;
     }
 
     @Data
@@ -211,5 +441,16 @@ public class PollService {
         private long totalVotes;
         private double participationRate;
     }
-}
 
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class PollResult {
+        private long voters;
+        private Map<Long, Long> votes;
+        private Map<Long, Double> percentages;
+        private Long winnerOptionId;
+        @Builder.Default
+        private List<Map<Long, Long>> rounds = Collections.emptyList();
+    }
+}
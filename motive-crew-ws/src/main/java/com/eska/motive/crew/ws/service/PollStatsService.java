@@ -0,0 +1,82 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.PollStats;
+import com.eska.motive.crew.ws.repository.PollStatsRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the materialized poll statistics row.
+ *
+ * Poll creation and closing adjust the poll counts with relative updates in the same
+ * transaction as the change. Votes never touch the row directly: the total is moved
+ * by the {@link PollVoteTally} flush, in the same transaction as the per-option counts.
+ * Distinct voters are only counted by the periodic recompute, which also corrects any
+ * drift in the poll counts. The vote total is recounted by the tally once voting has
+ * settled, see {@link PollVoteTally#recount()}.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class PollStatsService {
+
+    private static final String RECONCILE_LEASE = "poll-stats-reconcile";
+
+    @Autowired
+    private PollStatsRepository pollStatsRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (pollStatsRepository.initialize() == 1) {
+                log.info("Initialized poll statistics row");
+            }
+        } catch (Exception e) {
+            log.error("Error initializing poll statistics", e);
+        }
+    }
+
+    @Transactional
+    public void adjust(long active, long closed, long votes, long voters) {
+        pollStatsRepository.adjust(active, closed, votes, voters);
+    }
+
+    /**
+     * Reset the vote total to the vote rows if nothing was voted since {@code settledBefore}
+     *
+     * @return true if the total was recounted
+     */
+    public boolean recountVotes(LocalDateTime settledBefore) {
+        return pollStatsRepository.recountVotesIfSettled(settledBefore) == 1;
+    }
+
+    @Transactional(readOnly = true)
+    public PollStats getStats() {
+        return pollStatsRepository.findById(PollStats.SINGLETON_ID)
+                .orElseGet(() -> PollStats.builder().id(PollStats.SINGLETON_ID).build());
+    }
+
+    @Scheduled(fixedDelayString = "${polls.stats.reconcile-ms:300000}",
+            initialDelayString = "${polls.stats.reconcile-ms:300000}")
+    public void reconcile() {
+        try {
+            if (schedulerLeaseService.tryAcquire(RECONCILE_LEASE, Duration.ofMinutes(5))) {
+                pollStatsRepository.recompute();
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling poll statistics", e);
+        }
+    }
+}
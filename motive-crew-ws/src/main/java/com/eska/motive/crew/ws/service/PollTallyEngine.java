@@ -0,0 +1,262 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.enums.PollType;
+import com.eska.motive.crew.ws.repository.PollBallotRepository;
+import com.eska.motive.crew.ws.repository.PollBallotRepository.BallotView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tallies multi-select and ranked-choice polls in memory.
+ *
+ * Ballots are packed into a single {@code long} (see {@link com.eska.motive.crew.ws.entity.PollBallot})
+ * and identical ballots are aggregated, so a tally runs over distinct ballots rather
+ * than voters. Each poll's state is built incrementally: a sync pulls only the ballots
+ * recorded since the last one. Ballots whose ids were allocated but not yet committed
+ * at sync time are picked up by re-reading a short settle window, de-duplicated by voter.
+ * Ranked polls are resolved by instant-runoff.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+public class PollTallyEngine {
+
+    public static final int MAX_MULTI_OPTIONS = 64;
+    public static final int MAX_RANKED_OPTIONS = 15;
+
+    private static final int RANK_BITS = 4;
+    private static final long RANK_MASK = (1L << RANK_BITS) - 1;
+
+    @Autowired
+    private PollBallotRepository pollBallotRepository;
+
+    @Value("${polls.tally.sync-ms:500}")
+    private long syncMs;
+
+    @Value("${polls.tally.settle-ms:5000}")
+    private long settleMs;
+
+    private final Map<Long, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * Current tally for a poll, pulling in ballots recorded since the last sync
+     *
+     * @param forceSync sync even if the poll was synced within the sync interval
+     */
+    public Tally getTally(Long pollId, PollType type, int optionCount, boolean forceSync) {
+        State state = states.computeIfAbsent(pollId, id -> new State());
+        synchronized (state) {
+            long now = System.currentTimeMillis();
+            if (forceSync || now - state.lastSyncMs >= syncMs) {
+                sync(pollId, state, now);
+            }
+            if (state.cached == null || state.cached.counts().length != optionCount) {
+                state.cached = tally(type, optionCount, state.ballotCounts, state.voters.size());
+            }
+            return state.cached;
+        }
+    }
+
+    /**
+     * Make the next read of the poll sync, e.g. right after a ballot is committed
+     */
+    public void markStale(Long pollId) {
+        State state = states.get(pollId);
+        if (state != null) {
+            synchronized (state) {
+                state.lastSyncMs = 0;
+            }
+        }
+    }
+
+    /**
+     * Drop a poll's in-memory state, e.g. once its result has been stored on close
+     */
+    public void evict(Long pollId) {
+        states.remove(pollId);
+    }
+
+    /**
+     * Tally aggregated ballots (ballot value to number of voters who cast it)
+     */
+    public static Tally tally(PollType type, int optionCount, Map<Long, Long> ballotCounts, long voters) {
+        if (type == PollType.RANKED) {
+            return instantRunoff(optionCount, ballotCounts, voters);
+        }
+        long[] counts = new long[optionCount];
+        for (Map.Entry<Long, Long> entry : ballotCounts.entrySet()) {
+            long selection = entry.getKey();
+            while (selection != 0) {
+                int position = Long.numberOfTrailingZeros(selection);
+                if (position < optionCount) {
+                    counts[position] += entry.getValue();
+                }
+                selection &= selection - 1;
+            }
+        }
+        int winner = voters == 0 ? -1 : leader(counts, allOptions(optionCount));
+        return new Tally(voters, counts, winner, List.of());
+    }
+
+    public static long encodeSelection(List<Integer> positions) {
+        long selection = 0;
+        for (int position : positions) {
+            if (position < 0 || position >= MAX_MULTI_OPTIONS) {
+                throw new IllegalArgumentException("Option position out of range: " + position);
+            }
+            selection |= 1L << position;
+        }
+        return selection;
+    }
+
+    public static long encodeRanking(List<Integer> positions) {
+        if (positions.size() > MAX_RANKED_OPTIONS) {
+            throw new IllegalArgumentException("Too many ranked options");
+        }
+        long ranking = 0;
+        long seen = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            int position = positions.get(i);
+            if (position < 0 || position >= MAX_RANKED_OPTIONS || (seen & 1L << position) != 0) {
+                throw new IllegalArgumentException("Invalid or repeated ranked option: " + position);
+            }
+            seen |= 1L << position;
+            ranking |= (position + 1L) << (i * RANK_BITS);
+        }
+        return ranking;
+    }
+
+    /**
+     * Option positions in a ballot: selected positions for multi-select, preference order for ranked
+     */
+    public static List<Integer> decode(PollType type, long ballot) {
+        List<Integer> positions = new ArrayList<>();
+        if (type == PollType.RANKED) {
+            for (long rest = ballot; rest != 0; rest >>>= RANK_BITS) {
+                positions.add((int) (rest & RANK_MASK) - 1);
+            }
+        } else {
+            for (long rest = ballot; rest != 0; rest &= rest - 1) {
+                positions.add(Long.numberOfTrailingZeros(rest));
+            }
+        }
+        return positions;
+    }
+
+    private void sync(Long pollId, State state, long now) {
+        boolean changed = false;
+        for (BallotView row : pollBallotRepository.findBallotsAfter(pollId, state.safeWatermark)) {
+            state.maxId = Math.max(state.maxId, row.getId());
+            if (state.voters.add(row.getUserId())) {
+                state.ballotCounts.merge(row.getBallot(), 1L, Long::sum);
+                changed = true;
+            }
+        }
+        state.syncMarks.addLast(new long[]{now, state.maxId});
+        while (!state.syncMarks.isEmpty() && now - state.syncMarks.peekFirst()[0] >= settleMs) {
+            state.safeWatermark = state.syncMarks.pollFirst()[1];
+        }
+        state.lastSyncMs = now;
+        if (changed) {
+            state.cached = null;
+        }
+    }
+
+    private static Tally instantRunoff(int optionCount, Map<Long, Long> ballotCounts, long voters) {
+        // Flatten once so each round is a scan over primitive arrays
+        long[] ballots = new long[ballotCounts.size()];
+        long[] weights = new long[ballots.length];
+        int index = 0;
+        for (Map.Entry<Long, Long> entry : ballotCounts.entrySet()) {
+            ballots[index] = entry.getKey();
+            weights[index++] = entry.getValue();
+        }
+
+        long active = allOptions(optionCount);
+        List<long[]> rounds = new ArrayList<>();
+        while (true) {
+            long[] counts = new long[optionCount];
+            long continuing = 0;
+            for (int i = 0; i < ballots.length; i++) {
+                int choice = firstActiveChoice(ballots[i], active);
+                if (choice >= 0) {
+                    counts[choice] += weights[i];
+                    continuing += weights[i];
+                }
+            }
+            rounds.add(counts);
+
+            int leader = leader(counts, active);
+            if (continuing == 0) {
+                return new Tally(voters, counts, -1, List.copyOf(rounds));
+            }
+            if (counts[leader] * 2 > continuing || Long.bitCount(active) <= 1) {
+                return new Tally(voters, counts, leader, List.copyOf(rounds));
+            }
+
+            // Eliminate the weakest option; ties go against the later position
+            int weakest = -1;
+            for (long rest = active; rest != 0; rest &= rest - 1) {
+                int position = Long.numberOfTrailingZeros(rest);
+                if (weakest < 0 || counts[position] <= counts[weakest]) {
+                    weakest = position;
+                }
+            }
+            active &= ~(1L << weakest);
+        }
+    }
+
+    private static int firstActiveChoice(long ranking, long active) {
+        for (long rest = ranking; rest != 0; rest >>>= RANK_BITS) {
+            int position = (int) (rest & RANK_MASK) - 1;
+            if ((active >>> position & 1L) != 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static int leader(long[] counts, long active) {
+        int leader = -1;
+        for (long rest = active; rest != 0; rest &= rest - 1) {
+            int position = Long.numberOfTrailingZeros(rest);
+            if (position < counts.length && (leader < 0 || counts[position] > counts[leader])) {
+                leader = position;
+            }
+        }
+        return leader;
+    }
+
+    private static long allOptions(int optionCount) {
+        return optionCount >= Long.SIZE ? -1L : (1L << optionCount) - 1;
+    }
+
+    /**
+     * Result of a tally, indexed by option position. For ranked polls {@code counts}
+     * is the final instant-runoff round and {@code rounds} holds every round.
+     * {@code winner} is -1 when there are no votes.
+     */
+    public record Tally(long voters, long[] counts, int winner, List<long[]> rounds) {
+    }
+
+    private static final class State {
+        private final Set<Long> voters = new HashSet<>();
+        private final Map<Long, Long> ballotCounts = new HashMap<>();
+        private final Deque<long[]> syncMarks = new ArrayDeque<>();
+        private long safeWatermark;
+        private long maxId;
+        private long lastSyncMs;
+        private Tally cached;
+    }
+}
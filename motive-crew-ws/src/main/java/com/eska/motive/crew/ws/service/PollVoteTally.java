@@ -0,0 +1,178 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.PollOptionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory vote counters for poll options.
+ *
+ * Votes are counted in per-option {@link LongAdder}s, which spread concurrent
+ * increments over striped cells instead of contending on one value or one database
+ * row. The accumulated deltas are flushed periodically with relative
+ * {@code votes_count = votes_count + ?} updates, so no increment is ever lost to a
+ * read-modify-write. Readers add the unflushed delta to the stored count.
+ *
+ * Multi-select and ranked ballots are counted here too (they are tallied from their
+ * own rows, but still add to the total vote count), so the poll statistics row is
+ * only written by the flush and never from the vote transaction.
+ *
+ * Deltas still in memory when a node stops are lost, so the stored counts are
+ * periodically recounted from the vote rows, for polls nobody has voted on for longer
+ * than any delta can stay unflushed.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class PollVoteTally {
+
+    private static final String INCREMENT_SQL = "UPDATE poll_options SET votes_count = votes_count + ? WHERE id = ?";
+
+    private static final String RECOUNT_LEASE = "poll-tally-recount";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PollStatsService pollStatsService;
+
+    @Autowired
+    private PollOptionRepository pollOptionRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    /**
+     * How long after its last vote a poll is recounted; well above the flush interval,
+     * so only deltas that can no longer be flushed are missing from the stored counts
+     */
+    @Value("${polls.tally.recount-grace-ms:600000}")
+    private long recountGraceMs;
+
+    // Entries are never removed: the map is bounded by the number of options voted on
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder pendingBallots = new LongAdder();
+
+    /**
+     * Count a committed vote for the option
+     */
+    public void record(Long optionId) {
+        pending.computeIfAbsent(optionId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Count a committed multi-select or ranked ballot
+     */
+    public void recordBallot() {
+        pendingBallots.increment();
+    }
+
+    /**
+     * Votes counted for the option that have not been written to the database yet
+     */
+    public long getPending(Long optionId) {
+        LongAdder adder = pending.get(optionId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Votes and ballots counted across all polls that have not been written to the database yet
+     */
+    public long getPendingTotal() {
+        return pending.values().stream().mapToLong(LongAdder::sum).sum() + pendingBallots.sum();
+    }
+
+    /**
+     * Write the accumulated deltas. A delta stays in its adder until the update has
+     * committed, so readers never miss votes that are being written; on failure it is
+     * simply retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${polls.tally.flush-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> increments = new ArrayList<>();
+        List<LongAdder> drained = new ArrayList<>();
+        pending.forEach((optionId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                increments.add(new Object[]{delta, optionId});
+                drained.add(adder);
+            }
+        });
+
+        long ballots = pendingBallots.sum();
+        if (increments.isEmpty() && ballots == 0) {
+            return;
+        }
+
+        long total = increments.stream().mapToLong(increment -> (Long) increment[0]).sum() + ballots;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!increments.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INCREMENT_SQL, increments);
+                }
+                pollStatsService.adjust(0, 0, total, 0);
+            });
+        } catch (Exception e) {
+            log.error("Error flushing {} votes, retrying next flush", total, e);
+            return;
+        }
+        // Subtract what was written rather than resetting, so increments made during the flush survive
+        for (int i = 0; i < drained.size(); i++) {
+            drained.get(i).add(-(Long) increments.get(i)[0]);
+        }
+        pendingBallots.add(-ballots);
+        log.debug("Flushed vote counts for {} poll options and {} ballots", increments.size(), ballots);
+    }
+
+    /**
+     * Recount settled polls from their vote rows. Skipped while this node holds
+     * unflushed votes, which the recount would include and the next flush add again.
+     */
+    @Scheduled(fixedDelayString = "${polls.tally.recount-ms:300000}",
+            initialDelayString = "${polls.tally.recount-ms:300000}")
+    public void recount() {
+        if (getPendingTotal() != 0) {
+            return;
+        }
+        try {
+            if (!schedulerLeaseService.tryAcquire(RECOUNT_LEASE, Duration.ofMinutes(5))) {
+                return;
+            }
+            LocalDateTime settledBefore = LocalDateTime.now().minus(Duration.ofMillis(recountGraceMs));
+            int options = pollOptionRepository.recountSettled(settledBefore);
+            boolean total = pollStatsService.recountVotes(settledBefore);
+            if (options > 0) {
+                log.warn("Recounted {} poll options whose stored votes had drifted", options);
+            }
+            if (total) {
+                log.debug("Recounted the total vote count");
+            }
+        } catch (Exception e) {
+            log.error("Error recounting poll votes", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
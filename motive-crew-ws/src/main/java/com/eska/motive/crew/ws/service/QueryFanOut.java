@@ -0,0 +1,199 @@
+package com.eska.motive.crew.ws.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent queries behind one screen (dashboard, monthly report)
+ * either one after another or concurrently.
+ *
+ * In parallel mode ({@code queries.parallel.enabled}) each query runs on the shared
+ * executor in its own read-only transaction, so on its own connection. At most
+ * {@code queries.parallel.max-concurrency} run at once across all requests, which
+ * keeps the connection pool from being drained. Virtual threads are used when the
+ * JDK has them. A request waits at most {@code queries.parallel.timeout-ms} in
+ * total; a query that fails or misses the budget is replaced by its fallback and
+ * the result is flagged as partial.
+ *
+ * Latency of both modes is published as {@code queries.fanout.latency}
+ * (tags {@code name}, {@code mode}) with p50/p95/p99.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class QueryFanOut {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${queries.parallel.enabled:false}")
+    private boolean parallel;
+
+    @Value("${queries.parallel.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${queries.parallel.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${queries.parallel.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    private Semaphore permits;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        permits = new Semaphore(maxConcurrency);
+        executor = createExecutor();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a batch in the configured mode
+     */
+    public Batch start(String name) {
+        return new Batch(name, parallel);
+    }
+
+    /**
+     * Start a batch that always runs sequentially and never falls back (for results
+     * that get stored, such as report snapshots)
+     */
+    public Batch sequential(String name) {
+        return new Batch(name, false);
+    }
+
+    private ExecutorService createExecutor() {
+        if (virtualThreads) {
+            try {
+                // JDK 21+; looked up reflectively as the code base targets Java 17
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.info("Virtual threads not available, using {} platform threads for parallel queries",
+                        maxConcurrency);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "query-fanout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The queries of one request. Use with try-with-resources: closing it records the
+     * latency and cancels anything that was not joined.
+     */
+    public final class Batch implements AutoCloseable {
+
+        private final String name;
+        private final boolean parallel;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private boolean partial;
+
+        private Batch(String name, boolean parallel) {
+            this.name = name;
+            this.parallel = parallel;
+            this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        }
+
+        /**
+         * Start a query; in sequential mode it runs right away on the calling thread
+         */
+        public <T> Future<T> submit(Supplier<T> query) {
+            if (!parallel) {
+                return CompletableFuture.completedFuture(query.get());
+            }
+            Future<T> future = executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return readOnly.execute(status -> query.get());
+                } finally {
+                    permits.release();
+                }
+            });
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * The query's result, or {@code fallback} when it failed or the request's time
+         * budget ran out first
+         */
+        public <T> T join(String part, Future<T> future, T fallback) {
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                return future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("{}: '{}' query missed the {} ms budget", name, part, timeoutMs);
+            } catch (ExecutionException e) {
+                log.error("{}: '{}' query failed", name, part, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+            partial = true;
+            return fallback;
+        }
+
+        /**
+         * Whether any result was replaced by its fallback
+         */
+        public boolean isPartial() {
+            return partial;
+        }
+
+        @Override
+        public void close() {
+            futures.forEach(future -> future.cancel(true));
+            Timer.builder("queries.fanout.latency")
+                    .description("Time to run the queries behind a screen")
+                    .tag("name", name)
+                    .tag("mode", parallel ? "parallel" : "sequential")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (partial) {
+                meterRegistry.counter("queries.fanout.partial", "name", name).increment();
+            }
+        }
+    }
+}
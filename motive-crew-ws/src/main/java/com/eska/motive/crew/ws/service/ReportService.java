@@ -3,25 +3,59 @@ package com.eska.motive.crew.ws.service;
 import com.eska.motive.crew.contract.StatusCode;
 import com.eska.motive.crew.ws.entity.Event;
 import com.eska.motive.crew.ws.entity.Expense;
-import com.eska.motive.crew.ws.entity.MemberPayment;
 import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import com.eska.motive.crew.ws.entity.MonthlySnapshot;
 import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
 import com.eska.motive.crew.ws.repository.EventRepository;
 import com.eska.motive.crew.ws.repository.ExpenseRepository;
 import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
 import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import com.eska.motive.crew.ws.repository.MonthlySnapshotRepository;
 import com.eska.motive.crew.ws.repository.UserRepository;
+import com.eska.motive.crew.ws.util.DateRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
- * Service for generating reports and summaries
+ * Service for generating reports and summaries.
+ *
+ * The payments of a locked month can no longer change, so its summary is written to
+ * {@code monthly_snapshots} when the collection is locked and served from there
+ * with a single primary key lookup. Expenses and events dated in a locked month can
+ * still be edited; each such change rebuilds the month's snapshot in the background
+ * after it commits.
  * 
  * @author Motive Crew Team
  */
@@ -50,6 +84,44 @@ public class ReportService {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private MonthlySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryFanOut queryFanOut;
+
+    @Autowired
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reports.locked-months.reload-ms:60000}")
+    private long lockedMonthsReloadMs;
+
+    private TransactionTemplate refreshTransaction;
+
+    private ScheduledExecutorService refreshExecutor;
+
+    private final Set<YearMonth> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        // Snapshots are rebuilt after the changing transaction has committed, so in a new one
+        refreshTransaction = new TransactionTemplate(transactionManager);
+        refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // One rebuild at a time, off the request threads
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("snapshot-refresh"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     /**
      * Get monthly summary report
      */
@@ -57,61 +129,215 @@ public class ReportService {
         MonthlyCollection collection = collectionRepository.findByYearAndMonth(year, month)
                 .orElseThrow(() -> new ResourceNotFoundException(StatusCode.NOT_FOUND));
 
-        // Get collection stats
-        ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
+        if (!collection.getIsLocked()) {
+            return buildMonthlySummary(collection, false);
+        }
+        MonthlySummaryDTO snapshot = findSnapshot(collection);
+        if (snapshot == null) {
+            // Locked before snapshots existed, or capturing it failed: take it now
+            snapshot = buildMonthlySummary(collection, true);
+            storeSnapshot(collection, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Frozen summary of a locked collection, or null when none has been stored
+     */
+    public MonthlySummaryDTO findSnapshot(MonthlyCollection collection) {
+        if (collection.getId() == null || !collection.getIsLocked()) {
+            return null;
+        }
+        return snapshotRepository.findById(collection.getId())
+                .map(this::readSnapshot)
+                .orElse(null);
+    }
 
-        // Get expenses summary
-        ExpenseService.ExpenseSummary expenseSummary = expenseService.getExpenseSummary(month, year);
+    /**
+     * Capture the month's summary once its collection is locked.
+     *
+     * Other nodes learn of the lock on their next reload of {@link LockedMonths} and
+     * do not publish their changes to the month until then, so it is captured once more
+     * after that.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCollectionLocked(ContributionService.CollectionLocked event) {
+        YearMonth month = YearMonth.of(event.year(), event.month());
+        requestRefresh(month);
+        try {
+            refreshExecutor.schedule(() -> requestRefresh(month), 2 * lockedMonthsReloadMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Snapshot refresh of {} not scheduled, shutting down", month);
+        }
+    }
 
-        // Get events for the month
-        List<Event> events = eventRepository.findByFilters(null, null, month, year, null, org.springframework.data.domain.Pageable.unpaged())
-                .getContent();
+    /**
+     * Rebuild the snapshot of locked months whose expenses or events changed.
+     *
+     * Only queues the work; the rebuild runs on the refresh thread, and requests for
+     * a month already waiting there are merged into the one queued.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMonthsChanged(MonthsChanged event) {
+        event.months().forEach(this::requestRefresh);
+    }
 
-        // Get member contributions
-        List<MemberPayment> payments = paymentRepository.findByCollection(collection);
+    private void requestRefresh(YearMonth month) {
+        if (!pendingRefresh.add(month)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refreshSnapshot(month));
+        } catch (RejectedExecutionException e) {
+            pendingRefresh.remove(month);
+            log.warn("Snapshot refresh of {} not queued, shutting down", month);
+        }
+    }
 
-        // Calculate balance
-        BigDecimal balance = stats.getTotalCollected().subtract(expenseSummary.getTotalSpent());
+    /**
+     * Rebuild a locked month's snapshot with a single upsert. The rebuild holds the
+     * collection's row lock and reads after taking it, so when several nodes race the
+     * last snapshot written has seen all changes committed before it.
+     */
+    private void refreshSnapshot(YearMonth month) {
+        // Changes committed from here on queue another refresh
+        pendingRefresh.remove(month);
+        try {
+            refreshTransaction.executeWithoutResult(status ->
+                    collectionRepository.findByYearAndMonthForUpdate(month.getYear(), month.getMonthValue())
+                            .filter(collection -> Boolean.TRUE.equals(collection.getIsLocked()))
+                            .ifPresent(this::replaceSnapshot));
+        } catch (Exception e) {
+            log.error("Error refreshing snapshot of {}", month, e);
+            try {
+                // Without a snapshot the month is built live and stored on its next read
+                snapshotRepository.deleteByYearAndMonth(month.getYear(), month.getMonthValue());
+                dashboardCache.invalidateAfterCommit(month.getYear(), month.getMonthValue());
+            } catch (Exception deleteError) {
+                log.error("Error dropping snapshot of {}", month, deleteError);
+            }
+        }
+    }
+
+    private void replaceSnapshot(MonthlyCollection collection) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(buildMonthlySummary(collection, true));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        snapshotRepository.upsert(collection.getId(), collection.getYear(), collection.getMonth(), payload,
+                LocalDateTime.now());
+        dashboardCache.invalidateAfterCommit(collection.getYear(), collection.getMonth());
+    }
+
+    private void storeSnapshot(MonthlyCollection collection, MonthlySummaryDTO summary) {
+        try {
+            snapshotRepository.insertIgnore(collection.getId(), collection.getYear(), collection.getMonth(),
+                    objectMapper.writeValueAsString(summary), LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Error storing snapshot of collection {}", collection.getId(), e);
+        }
+    }
+
+    private MonthlySummaryDTO readSnapshot(MonthlySnapshot snapshot) {
+        try {
+            // Amounts inside expensesByCategory are untyped; keep them as BigDecimal like the live report
+            return objectMapper.readerFor(MonthlySummaryDTO.class)
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .readValue(snapshot.getPayload());
+        } catch (Exception e) {
+            log.error("Error reading snapshot of collection {}", snapshot.getCollectionId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Compute the monthly summary from the live tables
+     */
+    private MonthlySummaryDTO buildMonthlySummary(MonthlyCollection collection, boolean forSnapshot) {
+        Integer month = collection.getMonth();
+        Integer year = collection.getYear();
+
+        // Snapshots are stored for good, so they are never built from partial results
+        try (QueryFanOut.Batch batch = forSnapshot ? queryFanOut.sequential("report") : queryFanOut.start("report")) {
+            // Get collection stats
+            Future<ContributionService.CollectionStats> statsQuery =
+                    batch.submit(() -> contributionService.calculateStats(collection));
 
-        // Generate insights
-        List<String> insights = generateInsights(stats, expenseSummary, events);
+            // Get expenses summary
+            Future<ExpenseService.ExpenseSummary> expenseQuery =
+                    batch.submit(() -> expenseService.getExpenseSummary(month, year));
 
-        return MonthlySummaryDTO.builder()
-                .month(month)
-                .year(year)
-                .monthName(getMonthName(month) + " " + year)
-                .financial(FinancialSummary.builder()
+            // Get events for the month
+            Future<List<EventSummary>> eventsQuery = batch.submit(() -> eventSummaries(month, year));
+
+            // Get member contributions
+            Future<List<MemberContribution>> contributionsQuery =
+                    batch.submit(() -> memberContributions(collection));
+
+            ContributionService.CollectionStats stats = batch.join("stats", statsQuery, null);
+            ExpenseService.ExpenseSummary expenseSummary = batch.join("expenses", expenseQuery, null);
+            List<EventSummary> events = batch.join("events", eventsQuery, List.of());
+            List<MemberContribution> contributions = batch.join("contributions", contributionsQuery, List.of());
+
+            FinancialSummary financial = null;
+            List<String> insights = List.of();
+            if (stats != null && expenseSummary != null) {
+                // Calculate balance
+                BigDecimal balance = stats.getTotalCollected().subtract(expenseSummary.getTotalSpent());
+                financial = FinancialSummary.builder()
                         .totalCollected(stats.getTotalCollected())
                         .totalSpent(expenseSummary.getTotalSpent())
                         .balance(balance)
                         .membersPaid(stats.getMembersPaid())
                         .totalMembers(stats.getTotalMembers())
                         .progressPercentage(stats.getProgressPercentage())
+                        .build();
+
+                // Generate insights
+                insights = generateInsights(stats, expenseSummary, events);
+            }
+
+            return MonthlySummaryDTO.builder()
+                    .month(month)
+                    .year(year)
+                    .monthName(getMonthName(month) + " " + year)
+                    .financial(financial)
+                    .expensesByCategory(expenseSummary != null ? expenseSummary.getExpensesByCategory() : List.of())
+                    .events(events)
+                    .memberContributions(contributions)
+                    .insights(insights)
+                    .partial(batch.isPartial())
+                    .build();
+        }
+    }
+
+    private List<EventSummary> eventSummaries(int month, int year) {
+        DateRange range = DateRange.ofMonth(month, year);
+        return eventRepository.findByFilters(null, null, range.from(), range.to(), null, null,
+                        org.springframework.data.domain.Pageable.unpaged())
+                .getContent()
+                .stream()
+                .map(e -> EventSummary.builder()
+                        .id(e.getId())
+                        .name(e.getName())
+                        .type(e.getType().name())
+                        .cost(costOf(e))
+                        .participants(e.getJoinedCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<MemberContribution> memberContributions(MonthlyCollection collection) {
+        return paymentRepository.findByCollection(collection).stream()
+                .map(p -> MemberContribution.builder()
+                        .memberId(p.getUser().getId())
+                        .memberName(p.getUser().getName())
+                        .amount(p.getAmount())
+                        .status(p.getStatus().name())
                         .build())
-                .expensesByCategory(expenseSummary.getExpensesByCategory())
-                .events(events.stream()
-                        .map(e -> EventSummary.builder()
-                                .id(e.getId())
-                                .name(e.getName())
-                                .type(e.getType().name())
-                                .cost(e.getActualCost() != null ? e.getActualCost() : e.getEstimatedCost())
-                                .participants(e.getParticipants() != null 
-                                        ? (int) e.getParticipants().stream()
-                                                .filter(p -> p.getStatus() == com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus.JOINED)
-                                                .count()
-                                        : 0)
-                                .build())
-                        .collect(Collectors.toList()))
-                .memberContributions(payments.stream()
-                        .map(p -> MemberContribution.builder()
-                                .memberId(p.getUser().getId())
-                                .memberName(p.getUser().getName())
-                                .amount(p.getAmount())
-                                .status(p.getStatus().name())
-                                .build())
-                        .collect(Collectors.toList()))
-                .insights(insights)
-                .build();
+                .collect(Collectors.toList());
     }
 
     /**
@@ -119,7 +345,7 @@ public class ReportService {
      */
     private List<String> generateInsights(ContributionService.CollectionStats stats,
                                          ExpenseService.ExpenseSummary expenseSummary,
-                                         List<Event> events) {
+                                         List<EventSummary> events) {
         java.util.List<String> insights = new java.util.ArrayList<>();
 
         // Contribution insight
@@ -147,25 +373,29 @@ public class ReportService {
 
         // Events insight
         if (!events.isEmpty()) {
-            Event highestCostEvent = events.stream()
-                    .max((e1, e2) -> {
-                        BigDecimal cost1 = e1.getActualCost() != null ? e1.getActualCost() : e1.getEstimatedCost() != null ? e1.getEstimatedCost() : BigDecimal.ZERO;
-                        BigDecimal cost2 = e2.getActualCost() != null ? e2.getActualCost() : e2.getEstimatedCost() != null ? e2.getEstimatedCost() : BigDecimal.ZERO;
-                        return cost1.compareTo(cost2);
-                    })
+            EventSummary highestCostEvent = events.stream()
+                    .max(java.util.Comparator.comparing(EventSummary::getCost))
                     .orElse(null);
 
             if (highestCostEvent != null) {
-                BigDecimal cost = highestCostEvent.getActualCost() != null
-                        ? highestCostEvent.getActualCost()
-                        : highestCostEvent.getEstimatedCost() != null ? highestCostEvent.getEstimatedCost() : BigDecimal.ZERO;
-                insights.add(String.format("Highest expense event: %s (%.2f JOD)", highestCostEvent.getName(), cost));
+                insights.add(String.format("Highest expense event: %s (%.2f JOD)",
+                        highestCostEvent.getName(), highestCostEvent.getCost()));
             }
         }
 
         return insights;
     }
 
+    /**
+     * Cost of an event: the sum of its expenses once it has any, otherwise the estimate
+     */
+    private BigDecimal costOf(Event event) {
+        if (event.getActualCost() != null) {
+            return event.getActualCost();
+        }
+        return event.getEstimatedCost() != null ? event.getEstimatedCost() : BigDecimal.ZERO;
+    }
+
     /**
      * Get month name
      */
@@ -175,11 +405,35 @@ public class ReportService {
         return monthNames[month];
     }
 
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Published through {@link LockedMonths} when expenses or events dated in locked months change
+     */
+    public record MonthsChanged(Set<YearMonth> months) {
+
+        public static MonthsChanged of(LocalDate... dates) {
+            return new MonthsChanged(Arrays.stream(dates)
+                    .filter(Objects::nonNull)
+                    .map(YearMonth::from)
+                    .collect(Collectors.toSet()));
+        }
+    }
+
     /**
      * Monthly Summary DTO
      */
     @lombok.Data
     @lombok.Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class MonthlySummaryDTO {
         private Integer month;
         private Integer year;
@@ -189,10 +443,16 @@ public class ReportService {
         private List<EventSummary> events;
         private List<MemberContribution> memberContributions;
         private List<String> insights;
+        /**
+         * True when some parts could not be loaded in time and were left empty
+         */
+        private boolean partial;
     }
 
     @lombok.Data
     @lombok.Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class FinancialSummary {
         private BigDecimal totalCollected;
         private BigDecimal totalSpent;
@@ -204,6 +464,8 @@ public class ReportService {
 
     @lombok.Data
     @lombok.Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class EventSummary {
         private Long id;
         private String name;
@@ -214,6 +476,8 @@ public class ReportService {
 
     @lombok.Data
     @lombok.Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class MemberContribution {
         private Long memberId;
         private String memberName;
@@ -0,0 +1,62 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.SchedulerLeaseRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases for background jobs that must run on one node at a time.
+ *
+ * A lease is a row in {@code scheduler_leases}; a node holds it while
+ * {@code lease_until} is in the future and keeps it by renewing before it lapses.
+ * Claiming is a single conditional update, so two nodes can never both succeed.
+ *
+ * @author Motive Crew Team
+ */
+@Service
+@Log4j2
+public class SchedulerLeaseService {
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String nodeId = resolveNodeId();
+
+    /**
+     * Acquire or renew the named lease for {@code ttl}
+     *
+     * @return true if this node holds the lease
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(ttl);
+        if (schedulerLeaseRepository.insertIfAbsent(name, nodeId, until) == 1) {
+            log.info("Node {} acquired scheduler lease {}", nodeId, name);
+            return true;
+        }
+        return schedulerLeaseRepository.claim(name, nodeId, now, until) == 1;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Event;
+import com.eska.motive.crew.ws.repository.EventRepository;
+import com.eska.motive.crew.ws.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cached view of the next few upcoming events, as shown on the dashboard and the
+ * upcoming-events endpoint.
+ *
+ * Holds the first {@code events.upcoming.cache-size} upcoming events as an immutable
+ * list. It is dropped after event writes commit, when the day rolls over, and after
+ * a short TTL so writes made by other nodes are picked up. Requests for more events
+ * than are cached go to the database with a bounded query.
+ *
+ * @author Motive Crew Team
+ */
+@Component
+@Log4j2
+public class UpcomingEventsCache {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Value("${events.upcoming.cache-size:20}")
+    private int cacheSize;
+
+    @Value("${events.upcoming.cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * The next {@code limit} upcoming events, soonest first
+     */
+    public List<Event> getNext(int limit) {
+        int size = Math.max(0, Math.min(limit, MAX_LIMIT));
+        if (size > cacheSize) {
+            return load(LocalDate.now(), size);
+        }
+        List<Event> events = current().events();
+        return events.size() > size ? events.subList(0, size) : events;
+    }
+
+    /**
+     * Drop the cached view once the current transaction commits
+     */
+    public void invalidateAfterCommit() {
+        TransactionUtil.afterCommit(() -> snapshot = null);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        LocalDate today = LocalDate.now();
+        if (current == null || !current.day().equals(today)
+                || System.currentTimeMillis() - current.loadedAt() > ttlMs) {
+            current = new Snapshot(today, System.currentTimeMillis(), load(today, cacheSize));
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private List<Event> load(LocalDate today, int limit) {
+        if (limit == 0) {
+            return List.of();
+        }
+        return List.copyOf(eventRepository.findByEventDateAfterAndStatusOrderByEventDateAscIdAsc(
+                today, Event.EventStatus.UPCOMING, PageRequest.of(0, limit)));
+    }
+
+    private record Snapshot(LocalDate day, long loadedAt, List<Event> events) {
+    }
+}
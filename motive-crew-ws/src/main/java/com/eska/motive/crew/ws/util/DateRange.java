@@ -0,0 +1,35 @@
+package com.eska.motive.crew.ws.util;
+
+import java.time.LocalDate;
+
+/**
+ * Half-open date range {@code [from, to)} built from optional month/year filters.
+ *
+ * Queries compare the raw date column against the bounds instead of wrapping it in
+ * {@code MONTH()}/{@code YEAR()}, so MySQL can range-scan the date index. A month
+ * given without a year cannot be expressed as one range and is carried separately
+ * in {@code monthOfAnyYear}.
+ *
+ * @author Motive Crew Team
+ */
+public record DateRange(LocalDate from, LocalDate to, Integer monthOfAnyYear) {
+
+    private static final DateRange UNBOUNDED = new DateRange(null, null, null);
+
+    public static DateRange ofMonth(Integer month, Integer year) {
+        if (year == null) {
+            return month == null ? UNBOUNDED : new DateRange(null, null, month);
+        }
+        if (month == null) {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            return new DateRange(start, start.plusYears(1), null);
+        }
+        if (month < 1 || month > 12) {
+            // Matches nothing, like MONTH(date) = 13 did
+            LocalDate start = LocalDate.of(year, 1, 1);
+            return new DateRange(start, start, null);
+        }
+        LocalDate start = LocalDate.of(year, month, 1);
+        return new DateRange(start, start.plusMonths(1), null);
+    }
+}
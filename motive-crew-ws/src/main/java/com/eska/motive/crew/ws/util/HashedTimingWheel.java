@@ -0,0 +1,164 @@
+package com.eska.motive.crew.ws.util;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for keyed deadlines.
+ *
+ * Timeouts are hashed into a fixed ring of buckets by their deadline tick. A single
+ * ticker thread advances the wheel once per tick, moves newly scheduled timeouts into
+ * their bucket and fires the ones that are due, so scheduling and cancelling are O(1)
+ * and never contend with each other. Scheduling a key that already has a timeout
+ * replaces it.
+ *
+ * @author Motive Crew Team
+ */
+@Log4j2
+public class HashedTimingWheel<K> {
+
+    private final String name;
+    private final long tickMs;
+    private final int mask;
+    private final Queue<Timeout<K>>[] buckets;
+    private final Queue<Timeout<K>> incoming = new ConcurrentLinkedQueue<>();
+    private final Map<K, Timeout<K>> index = new ConcurrentHashMap<>();
+    private final long startMs = System.currentTimeMillis();
+
+    private ScheduledExecutorService ticker;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMs, int wheelSize) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMs and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.name = name;
+        this.tickMs = tickMs;
+        this.mask = Math.max(size, 1) - 1;
+        this.buckets = new Queue[mask + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedule {@code action} to run with {@code key} once {@code deadlineMs} (epoch millis)
+     * has passed. Deadlines in the past fire on the next tick.
+     */
+    public void schedule(K key, long deadlineMs, Consumer<K> action) {
+        long deadlineTick = Math.max(0, (deadlineMs - startMs + tickMs - 1) / tickMs);
+        Timeout<K> timeout = new Timeout<>(key, deadlineTick, action);
+        Timeout<K> previous = index.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        incoming.add(timeout);
+    }
+
+    public void cancel(K key) {
+        Timeout<K> previous = index.remove(key);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+    }
+
+    public boolean isScheduled(K key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void advance() {
+        try {
+            long targetTick = (System.currentTimeMillis() - startMs) / tickMs;
+            // Catch up on ticks missed while the thread was stalled
+            while (currentTick < targetTick) {
+                currentTick++;
+                transferIncoming();
+                expireBucket(currentTick);
+            }
+        } catch (Throwable t) {
+            log.error("Timing wheel {} failed to advance", name, t);
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout<K> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long tick = Math.max(timeout.deadlineTick, currentTick);
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(long tick) {
+        Iterator<Timeout<K>> iterator = buckets[(int) (tick & mask)].iterator();
+        while (iterator.hasNext()) {
+            Timeout<K> timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.deadlineTick <= tick) {
+                iterator.remove();
+                if (index.remove(timeout.key, timeout)) {
+                    fire(timeout);
+                }
+            }
+        }
+    }
+
+    private void fire(Timeout<K> timeout) {
+        try {
+            timeout.action.accept(timeout.key);
+        } catch (Exception e) {
+            log.error("Timing wheel {} action failed for {}", name, timeout.key, e);
+        }
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineTick;
+        private final Consumer<K> action;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long deadlineTick, Consumer<K> action) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.action = action;
+        }
+    }
+}
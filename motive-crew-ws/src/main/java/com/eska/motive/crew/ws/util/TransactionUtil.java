@@ -0,0 +1,33 @@
+package com.eska.motive.crew.ws.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running work relative to the current Spring transaction
+ *
+ * @author Motive Crew Team
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Run {@code action} once the current transaction commits, or immediately when
+     * there is no transaction. Used to keep in-memory views from seeing writes that
+     * may still roll back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.eska.motive.crew.ws.repository;
+
+import com.eska.motive.crew.ws.entity.Event;
+import com.eska.motive.crew.ws.entity.Expense;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.util.DateRange;
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * EXPLAINs the month and year filters of the event and expense queries and fails if any
+ * of them reads a table in full ({@code type=ALL}).
+ *
+ * The statements explained are the ones the repositories actually send: the driver
+ * hands every statement, with its parameters bound, to {@link StatementCapture}. Runs
+ * only against MySQL, given as {@code MOTIVE_CREW_EXPLAIN_DB_URL} (plus
+ * {@code MOTIVE_CREW_EXPLAIN_DB_USERNAME} and {@code MOTIVE_CREW_EXPLAIN_DB_PASSWORD}).
+ * Point it at an empty scratch schema: its tables are created from the entities and
+ * dropped afterwards.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${MOTIVE_CREW_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${MOTIVE_CREW_EXPLAIN_DB_USERNAME:root}",
+        "spring.datasource.password=${MOTIVE_CREW_EXPLAIN_DB_PASSWORD:}",
+        "spring.datasource.hikari.data-source-properties.queryInterceptors="
+                + "com.eska.motive.crew.ws.repository.DateRangeExplainTest$StatementCapture",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "MOTIVE_CREW_EXPLAIN_DB_URL", matches = ".+")
+class DateRangeExplainTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 730;
+    private static final int EXPENSES_PER_DAY = 3;
+
+    private static final Pattern EXPLAINED_TABLES = Pattern.compile("(?is)\\bfrom\\s+(events|expenses)\\b");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DateRange march = DateRange.ofMonth(3, 2025);
+
+    @BeforeEach
+    void seed() {
+        if (expenseRepository.count() > 0) {
+            return;
+        }
+        User user = userRepository.save(User.builder()
+                .name("Explain")
+                .email("explain@example.com")
+                .passwordHash("-")
+                .build());
+
+        List<Event> events = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = FIRST_DAY.plusDays(day);
+            events.add(Event.builder()
+                    .name("Event " + day)
+                    .type(Event.EventType.values()[day % Event.EventType.values().length])
+                    .status(Event.EventStatus.values()[day % Event.EventStatus.values().length])
+                    .eventDate(date)
+                    .createdBy(user)
+                    .build());
+            for (int i = 0; i < EXPENSES_PER_DAY; i++) {
+                expenses.add(Expense.builder()
+                        .title("Expense " + day + "-" + i)
+                        .amount(BigDecimal.valueOf(5 + i))
+                        .category(Expense.ExpenseCategory.values()[(day + i) % Expense.ExpenseCategory.values().length])
+                        .expenseDate(date)
+                        .paidBy(user)
+                        .createdBy(user)
+                        .build());
+            }
+        }
+        eventRepository.saveAll(events);
+        expenseRepository.saveAll(expenses);
+        // Fresh statistics, or the optimizer may still plan for empty tables
+        jdbcTemplate.queryForList("ANALYZE TABLE users, events, expenses");
+    }
+
+    @Test
+    void eventFiltersUseTheDateIndex() {
+        assertNoFullScan(() -> eventRepository.findByFilters(null, null, march.from(), march.to(), null, null,
+                PageRequest.of(0, 10)));
+        assertNoFullScan(() -> eventRepository.findByFilters(Event.EventStatus.UPCOMING, Event.EventType.FOOD,
+                march.from(), march.to(), null, null, PageRequest.of(0, 5)));
+    }
+
+    @Test
+    void expenseFiltersUseTheDateIndex() {
+        assertNoFullScan(() -> expenseRepository.findByFilters(march.from(), march.to(), null, null, null, null, null,
+                PageRequest.of(0, 10)));
+        assertNoFullScan(() -> expenseRepository.findByFilters(march.from(), march.to(), null,
+                Expense.ExpenseCategory.FOOD, null, null, null, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void monthlyTotalsUseTheDateIndex() {
+        assertNoFullScan(() -> expenseRepository.getTotalSpentBetween(march.from(), march.to()));
+        assertNoFullScan(() -> expenseRepository.getExpensesByCategoryBetween(march.from(), march.to()));
+    }
+
+    /**
+     * Run the repository call and EXPLAIN every event or expense statement it sent
+     */
+    private void assertNoFullScan(Runnable call) {
+        StatementCapture.STATEMENTS.clear();
+        call.run();
+        List<String> statements = StatementCapture.STATEMENTS.stream()
+                .filter(sql -> EXPLAINED_TABLES.matcher(sql).find())
+                .toList();
+        assertFalse(statements.isEmpty(), "no event or expense statement was captured");
+
+        for (String sql : statements) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+            for (Map<String, Object> step : plan) {
+                assertNotEquals("ALL", step.get("type"),
+                        () -> "Full scan of " + step.get("table") + " in:\n" + sql + "\nplan: " + plan);
+            }
+        }
+    }
+
+    /**
+     * Records each statement the driver sends, with its parameters bound
+     */
+    public static class StatementCapture implements QueryInterceptor {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+            return this;
+        }
+
+        @Override
+        public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+            STATEMENTS.add(sql.get());
+            return null;
+        }
+
+        @Override
+        public boolean executeTopLevelOnly() {
+            return true;
+        }
+
+        @Override
+        public void destroy() {
+        }
+
+        @Override
+        public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery,
+                                                   T originalResultSet, ServerSession serverSession) {
+            return originalResultSet;
+        }
+    }
+}
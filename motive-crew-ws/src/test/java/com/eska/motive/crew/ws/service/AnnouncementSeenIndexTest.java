@@ -0,0 +1,87 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.UserAnnouncementViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AnnouncementSeenIndexTest {
+
+    @Mock
+    private UserAnnouncementViewRepository viewRepository;
+
+    @InjectMocks
+    private AnnouncementSeenIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "maxUsers", 2);
+        index.init();
+        when(viewRepository.findAnnouncementIdsByUserId(anyLong())).thenReturn(List.of(5L));
+    }
+
+    @Test
+    void setBitsAreAnsweredFromMemory() {
+        assertTrue(index.isSeen(1L, 5L));
+        assertTrue(index.isSeen(1L, 5L));
+
+        verify(viewRepository, times(1)).findAnnouncementIdsByUserId(1L);
+        verify(viewRepository, times(0)).existsByUser_IdAndAnnouncement_Id(1L, 5L);
+    }
+
+    @Test
+    void clearBitIsConfirmedAgainstTheDatabase() {
+        when(viewRepository.existsByUser_IdAndAnnouncement_Id(1L, 7L)).thenReturn(false, true);
+
+        assertFalse(index.isSeen(1L, 7L));
+        // Recorded on another node meanwhile: found, and remembered
+        assertTrue(index.isSeen(1L, 7L));
+        assertTrue(index.isSeen(1L, 7L));
+
+        verify(viewRepository, times(2)).existsByUser_IdAndAnnouncement_Id(1L, 7L);
+    }
+
+    @Test
+    void leastRecentlyUsedUserIsEvictedAlone() {
+        index.isSeen(1L, 5L);
+        index.isSeen(2L, 5L);
+        // User 1 is used again, so user 2 is the one that makes room for user 3
+        index.isSeen(1L, 5L);
+        index.isSeen(3L, 5L);
+
+        index.isSeen(1L, 5L);
+        index.isSeen(2L, 5L);
+
+        verify(viewRepository, times(1)).findAnnouncementIdsByUserId(1L);
+        verify(viewRepository, times(2)).findAnnouncementIdsByUserId(2L);
+        verify(viewRepository, times(1)).findAnnouncementIdsByUserId(3L);
+    }
+
+    @Test
+    void markSeenSkipsUsersThatAreNotLoaded() {
+        index.markSeen(1L, List.of(9L));
+        when(viewRepository.existsByUser_IdAndAnnouncement_Id(1L, 9L)).thenReturn(false);
+
+        assertFalse(index.isSeen(1L, 9L));
+
+        index.markSeen(1L, List.of(9L));
+        assertTrue(index.isSeen(1L, 9L));
+    }
+}
@@ -0,0 +1,143 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.request.AnnouncementSeenBatchRequest;
+import com.eska.motive.crew.ws.dto.request.AnnouncementSeenRequest;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.ResourceNotFoundException;
+import com.eska.motive.crew.ws.repository.AnnouncementRepository;
+import com.eska.motive.crew.ws.repository.UserAnnouncementViewRepository;
+import com.eska.motive.crew.ws.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AnnouncementSeenTest {
+
+    private static final Long USER_ID = 3L;
+
+    /**
+     * Announcements that exist
+     */
+    private static final Set<Long> STORED = Set.of(10L, 11L);
+
+    @Mock
+    private AnnouncementRepository announcementRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserAnnouncementViewRepository viewRepository;
+
+    @Mock
+    private AnnouncementSeenIndex seenIndex;
+
+    @Mock
+    private AnnouncementAckBuffer ackBuffer;
+
+    @InjectMocks
+    private AnnouncementService announcementService;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
+        when(announcementRepository.findExistingIds(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().filter(STORED::contains).toList());
+        when(viewRepository.insertIgnoreSeen(anyLong(), anyCollection(), any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(1).size());
+    }
+
+    @Test
+    void unknownIdIsNotFoundWhenBuffered() {
+        when(ackBuffer.isEnabled()).thenReturn(true);
+
+        assertThrows(ResourceNotFoundException.class, () -> announcementService.markAnnouncementAsSeen(99L, request()));
+
+        verify(ackBuffer, never()).enqueue(anyLong(), anyList());
+        verify(seenIndex, never()).markSeen(anyLong(), anyCollection());
+    }
+
+    @Test
+    void unknownIdIsNotFoundWhenUnbuffered() {
+        assertThrows(ResourceNotFoundException.class, () -> announcementService.markAnnouncementAsSeen(99L, request()));
+
+        verify(viewRepository, never()).insertIgnoreSeen(anyLong(), anyCollection(), any());
+        verify(seenIndex, never()).markSeen(anyLong(), anyCollection());
+    }
+
+    @Test
+    void nonPositiveIdsNeverReachTheDatabaseOrTheIndex() {
+        when(ackBuffer.isEnabled()).thenReturn(true);
+
+        assertThrows(ResourceNotFoundException.class, () -> announcementService.markAnnouncementAsSeen(-1L, request()));
+        assertThrows(ResourceNotFoundException.class, () -> announcementService.markAnnouncementAsSeen(0L, request()));
+
+        verify(announcementRepository, never()).findExistingIds(anyCollection());
+        verify(seenIndex, never()).markSeen(anyLong(), anyCollection());
+    }
+
+    @Test
+    void batchOnlyMarksStoredAnnouncementsWhenBuffered() throws Exception {
+        when(ackBuffer.isEnabled()).thenReturn(true);
+
+        int recorded = announcementService.markAnnouncementsAsSeen(
+                batch(10L, 2_147_483_647L, -4L, 11L, 10L));
+
+        assertEquals(2, recorded);
+        verify(ackBuffer).enqueue(USER_ID, List.of(10L, 11L));
+        verify(seenIndex).markSeen(USER_ID, List.of(10L, 11L));
+    }
+
+    @Test
+    void batchOnlyMarksStoredAnnouncementsWhenUnbuffered() throws Exception {
+        int recorded = announcementService.markAnnouncementsAsSeen(batch(10L, 2_147_483_647L, 11L));
+
+        assertEquals(2, recorded);
+        verify(viewRepository).insertIgnoreSeen(any(), any(), any());
+        // No transaction in the test, so the after-commit update runs right away
+        verify(seenIndex).markSeen(USER_ID, List.of(10L, 11L));
+    }
+
+    @Test
+    void batchOfUnknownIdsWritesNothing() throws Exception {
+        assertEquals(0, announcementService.markAnnouncementsAsSeen(batch(98L, 99L)));
+
+        verify(viewRepository, never()).insertIgnoreSeen(anyLong(), anyCollection(), any());
+        verify(seenIndex, never()).markSeen(anyLong(), anyCollection());
+    }
+
+    private static AnnouncementSeenRequest request() {
+        AnnouncementSeenRequest request = new AnnouncementSeenRequest();
+        request.setUserId(USER_ID);
+        return request;
+    }
+
+    private static AnnouncementSeenBatchRequest batch(Long... ids) {
+        AnnouncementSeenBatchRequest request = new AnnouncementSeenBatchRequest();
+        request.setUserId(USER_ID);
+        request.setAnnouncementIds(List.of(ids));
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import com.eska.motive.crew.ws.entity.MonthlySnapshot;
+import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
+import com.eska.motive.crew.ws.repository.MonthlySnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CollectionStatsTest {
+
+    private static final String SNAPSHOT = "{\"month\":3,\"year\":2025,\"financial\":{"
+            + "\"totalCollected\":40.00,\"totalSpent\":12.50,\"balance\":27.50,"
+            + "\"membersPaid\":8,\"totalMembers\":10,\"progressPercentage\":80.0}}";
+
+    @Mock
+    private MemberPaymentRepository paymentRepository;
+
+    @Mock
+    private MonthlySnapshotRepository snapshotRepository;
+
+    @InjectMocks
+    private ContributionService contributionService;
+
+    private final CollectionStatsCache statsCache = new CollectionStatsCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsCache, "ttlMs", 30000L);
+        ReflectionTestUtils.setField(contributionService, "statsCache", statsCache);
+        ReflectionTestUtils.setField(contributionService, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        ContributionService.CollectionStats stats = ContributionService.CollectionStats.builder().build();
+
+        statsCache.get(1L, false, () -> {
+            loads.incrementAndGet();
+            // A payment commits while the totals are being read
+            statsCache.invalidateAfterCommit(1L);
+            return stats;
+        });
+        statsCache.get(1L, false, () -> {
+            loads.incrementAndGet();
+            return stats;
+        });
+        statsCache.get(1L, false, () -> {
+            loads.incrementAndGet();
+            return stats;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void lockedCollectionReportsItsSnapshotFigures() {
+        MonthlyCollection collection = lockedCollection();
+        when(snapshotRepository.findById(7L)).thenReturn(Optional.of(
+                MonthlySnapshot.builder().collectionId(7L).year(2025).month(3).payload(SNAPSHOT).build()));
+
+        ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
+        contributionService.calculateStats(collection);
+
+        assertEquals(10, stats.getTotalMembers());
+        assertEquals(8, stats.getMembersPaid());
+        assertEquals(2, stats.getMembersPending());
+        assertEquals(new BigDecimal("40.00"), stats.getTotalCollected());
+        assertEquals(0, new BigDecimal("50.00").compareTo(stats.getGoalAmount()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(stats.getRemainingAmount()));
+        assertEquals(80.0, stats.getProgressPercentage());
+        // Kept for good after the first read, never counted live
+        verify(snapshotRepository, times(1)).findById(7L);
+        verify(paymentRepository, never()).getCollectionTotals(any());
+    }
+
+    @Test
+    void lockedCollectionWithoutSnapshotIsCountedLiveUntilCaptured() {
+        MonthlyCollection collection = lockedCollection();
+        when(snapshotRepository.findById(7L)).thenReturn(Optional.empty());
+        when(paymentRepository.getCollectionTotals(7L)).thenReturn(totals(new BigDecimal("35.00"), 7L, 11L));
+
+        ContributionService.CollectionStats stats = contributionService.calculateStats(collection);
+        contributionService.calculateStats(collection);
+
+        assertEquals(11, stats.getTotalMembers());
+        assertEquals(7, stats.getMembersPaid());
+        verify(paymentRepository, times(2)).getCollectionTotals(7L);
+    }
+
+    private static MonthlyCollection lockedCollection() {
+        return MonthlyCollection.builder()
+                .id(7L)
+                .year(2025)
+                .month(3)
+                .targetAmount(new BigDecimal("5.00"))
+                .isLocked(true)
+                .build();
+    }
+
+    private static MemberPaymentRepository.CollectionTotals totals(BigDecimal collected, Long paid, Long active) {
+        return new MemberPaymentRepository.CollectionTotals() {
+            @Override
+            public BigDecimal getTotalCollected() {
+                return collected;
+            }
+
+            @Override
+            public Long getMembersPaid() {
+                return paid;
+            }
+
+            @Override
+            public Long getActiveMembers() {
+                return active;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.eska.motive.crew.ws.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Builds a 1,000 members x 12 months matrix from in-memory rows and checks its per-month
+ * counts and totals, the per-member masks and totals, and the locked months.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContributionMatrixTest {
+
+    private static final int MEMBERS = 1_000;
+    private static final int YEAR = 2025;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ContributionMatrixService service;
+
+    private final List<Object[]> members = new ArrayList<>();
+    private final List<Object[]> collections = new ArrayList<>();
+    private final List<Object[]> payments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Object[]{(long) i + 1, String.format("Member %04d", i)});
+        }
+        for (int month = 1; month <= ContributionMatrixService.MONTHS; month++) {
+            collections.add(new Object[]{month, new BigDecimal("10.00"), month <= 6});
+        }
+        // Every member has a row each month; every third one is still pending
+        for (int i = 0; i < MEMBERS; i++) {
+            for (int month = 1; month <= ContributionMatrixService.MONTHS; month++) {
+                String status = (i + month) % 3 == 0 ? "PENDING" : "PAID";
+                payments.add(new Object[]{(long) i + 1, month, new BigDecimal("10.00"), status});
+            }
+        }
+
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> rows = sql.contains("FROM users") ? members
+                    : sql.contains("JOIN member_payments") ? payments : collections;
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void buildsAThousandMembersByTwelveMonths() {
+        ContributionMatrixService.Matrix matrix = service.build(YEAR);
+
+        assertEquals(MEMBERS, matrix.getMemberCount());
+        int[] paidCounts = matrix.getPaidCounts();
+        long[] monthTotals = matrix.getMonthTotalCents();
+        for (int month = 1; month <= ContributionMatrixService.MONTHS; month++) {
+            int expected = 0;
+            for (int i = 0; i < MEMBERS; i++) {
+                if ((i + month) % 3 != 0) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, paidCounts[month - 1]);
+            assertEquals(expected * 1000L, monthTotals[month - 1]);
+            assertEquals(month <= 6, matrix.isLocked(month));
+        }
+        // Members 0 and 999 miss months 3, 6, 9 and 12; member 1 misses 2, 5, 8 and 11
+        assertEquals(0b0110_1101_1011, matrix.getPaidMask(0));
+        assertEquals(new BigDecimal("80.00"), matrix.getMemberTotal(0));
+        assertEquals(new BigDecimal("0.00"), matrix.getAmount(0, 3));
+        assertEquals(new BigDecimal("10.00"), matrix.getAmount(0, 4));
+        assertEquals(0b1011_0110_1101, matrix.getPaidMask(1));
+        assertEquals(0b0110_1101_1011, matrix.getPaidMask(MEMBERS - 1));
+    }
+
+    /**
+     * A result set positioned on one row; only the getters the service uses are answered
+     */
+    private static ResultSet resultSet(Object[] row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object value = row[(Integer) args[0] - 1];
+                    return switch (method.getName()) {
+                        case "getLong", "getInt", "getString", "getBigDecimal", "getBoolean" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
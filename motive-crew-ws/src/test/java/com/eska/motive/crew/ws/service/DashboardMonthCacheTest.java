@@ -0,0 +1,92 @@
+package com.eska.motive.crew.ws.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardMonthCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DashboardMonthCache cache = new DashboardMonthCache();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "ttlMs", 30000L);
+        ReflectionTestUtils.setField(cache, "maxMonths", 2);
+        cache.init();
+    }
+
+    @Test
+    void monthIsLoadedOnceWithinTheTtl() {
+        cache.get(MARCH, () -> load(false));
+        cache.get(MARCH, () -> load(false));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("dashboard.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(0.5, meterRegistry.get("dashboard.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void writeDropsTheMonth() {
+        cache.get(MARCH, () -> load(false));
+        // No transaction is active, so it runs right away
+        cache.invalidateAfterCommit(2025, 3);
+        cache.get(MARCH, () -> load(false));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadOverlappingAWriteIsNotKept() {
+        cache.get(MARCH, () -> {
+            cache.invalidateAllAfterCommit();
+            return load(false);
+        });
+        cache.get(MARCH, () -> load(false));
+        cache.get(MARCH, () -> load(false));
+
+        // Loaded again once, then kept
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void partialViewIsServedButNotKept() {
+        cache.get(MARCH, () -> load(true));
+        cache.get(MARCH, () -> load(false));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void oldestMonthMakesRoomPastTheLimit() throws InterruptedException {
+        cache.get(YearMonth.of(2025, 1), () -> load(false));
+        Thread.sleep(5);
+        cache.get(YearMonth.of(2025, 2), () -> load(false));
+        Thread.sleep(5);
+        cache.get(MARCH, () -> load(false));
+
+        cache.get(YearMonth.of(2025, 2), () -> load(false));
+        cache.get(YearMonth.of(2025, 1), () -> load(false));
+
+        assertEquals(4, loads.get());
+        assertEquals(2.0, meterRegistry.get("dashboard.cache.size").gauge().value());
+    }
+
+    private DashboardService.MonthView load(boolean partial) {
+        loads.incrementAndGet();
+        return new DashboardService.MonthView(null, null, List.of(), partial);
+    }
+}
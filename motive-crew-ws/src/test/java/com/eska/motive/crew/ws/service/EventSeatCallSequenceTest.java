@@ -0,0 +1,468 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Event;
+import com.eska.motive.crew.ws.entity.EventParticipant;
+import com.eska.motive.crew.ws.entity.EventParticipant.ParticipantStatus;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.EventParticipantRepository;
+import com.eska.motive.crew.ws.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * The sequence of seat and waitlist statements {@link EventService} issues for joins and
+ * leaves under contention. The repositories are answered by {@link SeatTable}, a
+ * hand-written model of what each statement is meant to do under InnoDB (conditional
+ * updates evaluated on the current row, locks held until the service call returns).
+ *
+ * This checks that the service calls the statements in an order that cannot overbook or
+ * skip the waitlist, assuming the SQL matches the model. It does not run the SQL itself:
+ * the native queries in {@link EventRepository} and {@link EventParticipantRepository}
+ * are not exercised here.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventSeatCallSequenceTest {
+
+    private static final long EVENT_ID = 1L;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventParticipantRepository participantRepository;
+
+    @Mock
+    private UpcomingEventsCache upcomingEventsCache;
+
+    @Mock
+    private DashboardMonthCache dashboardCache;
+
+    @Mock
+    private LockedMonths lockedMonths;
+
+    @InjectMocks
+    private EventService eventService;
+
+    private SeatTable table;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = Event.builder()
+                .id(EVENT_ID)
+                .name("Padel night")
+                .status(Event.EventStatus.UPCOMING)
+                .createdBy(User.builder().id(0L).name("Organiser").build())
+                .build();
+    }
+
+    @Test
+    void waitlistIsServedInOrder() throws Exception {
+        useCapacity(1);
+        User first = user(1);
+        User second = user(2);
+        User third = user(3);
+
+        assertEquals(ParticipantStatus.JOINED, join(first).getStatus());
+        assertEquals(ParticipantStatus.WAITLISTED, join(second).getStatus());
+        assertEquals(ParticipantStatus.WAITLISTED, join(third).getStatus());
+        assertThrows(ValidationException.class, () -> join(second));
+
+        leave(first);
+        assertEquals(ParticipantStatus.JOINED, table.status(2));
+        assertEquals(ParticipantStatus.WAITLISTED, table.status(3));
+
+        // A member who left and comes back queues behind everyone already waiting
+        assertEquals(ParticipantStatus.WAITLISTED, join(first).getStatus());
+        leave(second);
+        assertEquals(ParticipantStatus.JOINED, table.status(3));
+        leave(third);
+        assertEquals(ParticipantStatus.JOINED, table.status(1));
+
+        assertConsistent(1);
+    }
+
+    @Test
+    void leavingTheWaitlistKeepsTheSeatCount() throws Exception {
+        useCapacity(1);
+        join(user(1));
+        join(user(2));
+
+        leave(user(2));
+
+        assertEquals(1, table.joinedCount());
+        assertEquals(ParticipantStatus.LEFT, table.status(2));
+        assertConsistent(1);
+    }
+
+    @Test
+    void concurrentJoinsNeverOverbook() throws Exception {
+        int capacity = 10;
+        useCapacity(capacity);
+        int users = 100;
+
+        runConcurrently(users, userId -> {
+            try {
+                join(user(userId));
+            } catch (ValidationException e) {
+                // Already joined or waitlisted
+            }
+        });
+
+        assertEquals(capacity, table.count(ParticipantStatus.JOINED));
+        assertEquals(users - capacity, table.count(ParticipantStatus.WAITLISTED));
+        assertConsistent(capacity);
+    }
+
+    @Test
+    void concurrentJoinsAndLeavesKeepSeatsAndWaitlistConsistent() throws Exception {
+        int capacity = 8;
+        useCapacity(capacity);
+        int users = 40;
+        int rounds = 150;
+
+        runConcurrently(users, userId -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int round = 0; round < rounds; round++) {
+                try {
+                    if (random.nextBoolean()) {
+                        join(user(userId));
+                    } else {
+                        leave(user(userId));
+                    }
+                } catch (ValidationException e) {
+                    // Joined twice or left without being in: rejected, nothing changes
+                }
+            }
+        });
+
+        assertConsistent(capacity);
+    }
+
+    @Test
+    void doubleSubmittedJoinsCountOnce() throws Exception {
+        useCapacity(5);
+        int submits = 16;
+        AtomicInteger accepted = new AtomicInteger();
+
+        runConcurrently(submits, ignored -> {
+            try {
+                join(user(7));
+                accepted.incrementAndGet();
+            } catch (ValidationException e) {
+                // The duplicate
+            }
+        });
+
+        assertEquals(1, accepted.get());
+        assertEquals(1, table.joinedCount());
+        assertConsistent(5);
+    }
+
+    private void assertConsistent(int capacity) {
+        long joined = table.count(ParticipantStatus.JOINED);
+        assertEquals(joined, table.joinedCount(), "joined_count matches the JOINED rows");
+        assertTrue(table.maxJoined() <= capacity, "never more JOINED rows than seats: " + table.maxJoined());
+        if (joined < capacity) {
+            assertEquals(0, table.count(ParticipantStatus.WAITLISTED), "no one waits while a seat is free");
+        }
+        assertEquals(0, table.lockTimeouts(), "no statement waited on a lock that was never released");
+    }
+
+    private void runConcurrently(int threads, Action action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i <= threads; i++) {
+            long userId = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                action.run(userId);
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private EventParticipant join(User user) throws Exception {
+        try {
+            return eventService.joinEvent(EVENT_ID, user);
+        } finally {
+            table.commit();
+        }
+    }
+
+    private void leave(User user) throws Exception {
+        try {
+            eventService.leaveEvent(EVENT_ID, user);
+        } finally {
+            table.commit();
+        }
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).name("Member " + id).build();
+    }
+
+    private void useCapacity(int capacity) {
+        table = new SeatTable(capacity);
+        event.setCapacity(capacity);
+
+        when(eventRepository.findByIdForUpdate(EVENT_ID)).thenAnswer(invocation -> {
+            table.lockEventRow();
+            return Optional.of(event);
+        });
+        when(eventRepository.tryTakeSeat(EVENT_ID)).thenAnswer(invocation -> table.tryTakeSeat());
+        when(eventRepository.releaseSeatIfOverCapacity(EVENT_ID))
+                .thenAnswer(invocation -> table.releaseSeatIfOverCapacity());
+        when(eventRepository.adjustJoinedCount(anyLong(), anyInt()))
+                .thenAnswer(invocation -> table.adjustJoinedCount(invocation.getArgument(1)));
+
+        when(participantRepository.insertWaitlisted(anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> table.insertWaitlisted(invocation.getArgument(1)));
+        when(participantRepository.rejoinWaitlisted(anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> table.rejoinWaitlisted(invocation.getArgument(1)));
+        when(participantRepository.promote(anyLong(), anyLong()))
+                .thenAnswer(invocation -> table.promote(invocation.getArgument(1)));
+        when(participantRepository.markLeft(anyLong(), anyLong(), anyString()))
+                .thenAnswer(invocation -> table.markLeft(invocation.getArgument(1), invocation.getArgument(2)));
+        when(participantRepository.findWaitlistHeadForUpdate(anyLong(), any()))
+                .thenAnswer(invocation -> table.findWaitlistHeadForUpdate(event));
+        when(participantRepository.findByEventAndUser(any(), any()))
+                .thenAnswer(invocation -> table.find(event, invocation.getArgument(1)));
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(long userId) throws Exception;
+    }
+
+    /**
+     * Model of one event row and its participant rows, with row locks held until
+     * {@link #commit()}; mirrors the intent of the native statements, not their text
+     */
+    private static final class SeatTable {
+
+        private final int capacity;
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger joinedRows = new AtomicInteger();
+        private final AtomicInteger maxJoined = new AtomicInteger();
+        private final AtomicInteger lockTimeouts = new AtomicInteger();
+        private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+        private final Map<Object, ReentrantLock> locks = new ConcurrentHashMap<>();
+        private final ThreadLocal<List<ReentrantLock>> held = ThreadLocal.withInitial(ArrayList::new);
+        private volatile int joinedCount;
+
+        private SeatTable(int capacity) {
+            this.capacity = capacity;
+        }
+
+        int tryTakeSeat() {
+            lockEventRow();
+            if (joinedCount < capacity) {
+                joinedCount++;
+                return 1;
+            }
+            return 0;
+        }
+
+        int releaseSeatIfOverCapacity() {
+            lockEventRow();
+            if (joinedCount > capacity) {
+                joinedCount--;
+                return 1;
+            }
+            return 0;
+        }
+
+        int adjustJoinedCount(int delta) {
+            lockEventRow();
+            joinedCount += delta;
+            return 1;
+        }
+
+        int insertWaitlisted(long userId) {
+            lockRow(userId);
+            if (rows.containsKey(userId)) {
+                return 0;
+            }
+            rows.put(userId, new Row(userId, ParticipantStatus.WAITLISTED, sequence.incrementAndGet()));
+            return 1;
+        }
+
+        int rejoinWaitlisted(long userId) {
+            lockRow(userId);
+            Row row = rows.get(userId);
+            if (row == null || row.status != ParticipantStatus.LEFT) {
+                return 0;
+            }
+            row.queuedAt = sequence.incrementAndGet();
+            row.status = ParticipantStatus.WAITLISTED;
+            return 1;
+        }
+
+        int promote(long userId) {
+            lockRow(userId);
+            Row row = rows.get(userId);
+            if (row == null || row.status != ParticipantStatus.WAITLISTED) {
+                return 0;
+            }
+            row.status = ParticipantStatus.JOINED;
+            maxJoined.accumulateAndGet(joinedRows.incrementAndGet(), Math::max);
+            return 1;
+        }
+
+        int markLeft(long userId, String fromStatus) {
+            lockRow(userId);
+            Row row = rows.get(userId);
+            if (row == null || !row.status.name().equals(fromStatus)) {
+                return 0;
+            }
+            if (row.status == ParticipantStatus.JOINED) {
+                joinedRows.decrementAndGet();
+            }
+            row.status = ParticipantStatus.LEFT;
+            return 1;
+        }
+
+        /**
+         * Locking read of the oldest waitlisted row: waits for rows other transactions
+         * are writing, then re-checks them, as SELECT ... FOR UPDATE does
+         */
+        List<EventParticipant> findWaitlistHeadForUpdate(Event event) {
+            while (true) {
+                Optional<Row> head = rows.values().stream()
+                        .filter(row -> row.status == ParticipantStatus.WAITLISTED)
+                        .min(Comparator.comparingLong(row -> row.queuedAt));
+                if (head.isEmpty()) {
+                    return List.of();
+                }
+                Row row = head.get();
+                long queuedAt = row.queuedAt;
+                lockRow(row.userId);
+                if (row.status == ParticipantStatus.WAITLISTED && row.queuedAt == queuedAt) {
+                    return List.of(toEntity(event, row));
+                }
+            }
+        }
+
+        Optional<EventParticipant> find(Event event, User user) {
+            Row row = rows.get(user.getId());
+            return row == null ? Optional.empty() : Optional.of(toEntity(event, row));
+        }
+
+        /**
+         * End of the transaction: release every lock the calling thread holds
+         */
+        void commit() {
+            List<ReentrantLock> mine = held.get();
+            for (int i = mine.size() - 1; i >= 0; i--) {
+                mine.get(i).unlock();
+            }
+            mine.clear();
+        }
+
+        ParticipantStatus status(long userId) {
+            return rows.get(userId).status;
+        }
+
+        long count(ParticipantStatus status) {
+            return rows.values().stream().filter(row -> row.status == status).count();
+        }
+
+        int joinedCount() {
+            return joinedCount;
+        }
+
+        int maxJoined() {
+            return maxJoined.get();
+        }
+
+        int lockTimeouts() {
+            return lockTimeouts.get();
+        }
+
+        void lockEventRow() {
+            lock("event");
+        }
+
+        private void lockRow(long userId) {
+            lock(userId);
+        }
+
+        private void lock(Object key) {
+            ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            try {
+                if (!lock.tryLock(10, TimeUnit.SECONDS)) {
+                    lockTimeouts.incrementAndGet();
+                    throw new IllegalStateException("Lock wait timeout on " + key);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            held.get().add(lock);
+        }
+
+        private static EventParticipant toEntity(Event event, Row row) {
+            return EventParticipant.builder()
+                    .event(event)
+                    .user(user(row.userId))
+                    .status(row.status)
+                    .build();
+        }
+    }
+
+    private static final class Row {
+        private final long userId;
+        private volatile ParticipantStatus status;
+        private volatile long queuedAt;
+
+        private Row(long userId, ParticipantStatus status, long queuedAt) {
+            this.userId = userId;
+            this.status = status;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Event;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventStatusUpdateTest {
+
+    private static final Long EVENT_ID = 5L;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventCostService eventCostService;
+
+    @Mock
+    private UpcomingEventsCache upcomingEventsCache;
+
+    @Mock
+    private DashboardMonthCache dashboardCache;
+
+    @Mock
+    private LockedMonths lockedMonths;
+
+    @InjectMocks
+    private EventService eventService;
+
+    private final User admin = User.builder().id(1L).role(User.UserRole.ADMIN).build();
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = Event.builder()
+                .id(EVENT_ID)
+                .status(Event.EventStatus.UPCOMING)
+                .eventDate(LocalDate.of(2025, 3, 14))
+                .build();
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void rejectedCostLeavesTheEventUntouched() {
+        when(eventCostService.hasLinkedExpenses(EVENT_ID)).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> eventService.updateEventStatus(
+                EVENT_ID, Event.EventStatus.COMPLETED, new BigDecimal("40.00"), admin));
+
+        // The exception is checked and does not roll back, so nothing may have been changed
+        assertEquals(Event.EventStatus.UPCOMING, event.getStatus());
+        assertNull(event.getActualCost());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void statusAndCostAreSetWithoutLinkedExpenses() throws Exception {
+        when(eventCostService.hasLinkedExpenses(EVENT_ID)).thenReturn(false);
+
+        Event saved = eventService.updateEventStatus(
+                EVENT_ID, Event.EventStatus.COMPLETED, new BigDecimal("40.00"), admin);
+
+        assertEquals(Event.EventStatus.COMPLETED, saved.getStatus());
+        assertEquals(new BigDecimal("40.00"), saved.getActualCost());
+    }
+
+    @Test
+    void statusAloneSkipsTheExpenseCheck() throws Exception {
+        eventService.updateEventStatus(EVENT_ID, Event.EventStatus.CANCELLED, null, admin);
+
+        assertEquals(Event.EventStatus.CANCELLED, event.getStatus());
+        verify(eventCostService, never()).hasLinkedExpenses(any());
+    }
+}
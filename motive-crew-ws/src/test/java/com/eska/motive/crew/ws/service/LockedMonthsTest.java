@@ -0,0 +1,92 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LockedMonthsTest {
+
+    @Mock
+    private MonthlyCollectionRepository collectionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LockedMonths lockedMonths;
+
+    @Test
+    void changesToOpenMonthsAreNotPublished() {
+        when(collectionRepository.findLockedMonths()).thenReturn(List.of(lockedMonth(2025, 1)));
+        lockedMonths.reload();
+
+        lockedMonths.publishChanged(LocalDate.of(2025, 2, 10), null);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onlyTheLockedMonthsArePublished() {
+        when(collectionRepository.findLockedMonths()).thenReturn(List.of(lockedMonth(2025, 1)));
+        lockedMonths.reload();
+
+        lockedMonths.publishChanged(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 1));
+
+        assertEquals(Set.of(YearMonth.of(2025, 1)), published().months());
+    }
+
+    @Test
+    void everyMonthCountsAsLockedUntilLoaded() {
+        lockedMonths.publishChanged(LocalDate.of(2025, 2, 1));
+
+        assertEquals(Set.of(YearMonth.of(2025, 2)), published().months());
+    }
+
+    @Test
+    void localLockIsSeenBeforeTheNextReload() {
+        when(collectionRepository.findLockedMonths()).thenReturn(List.of());
+        lockedMonths.reload();
+
+        lockedMonths.onCollectionLocked(new ContributionService.CollectionLocked(3L, 2025, 2));
+        lockedMonths.publishChanged(LocalDate.of(2025, 2, 14));
+
+        assertEquals(Set.of(YearMonth.of(2025, 2)), published().months());
+    }
+
+    private ReportService.MonthsChanged published() {
+        ArgumentCaptor<ReportService.MonthsChanged> event = ArgumentCaptor.forClass(ReportService.MonthsChanged.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    private static MonthlyCollectionRepository.LockedMonth lockedMonth(int year, int month) {
+        return new MonthlyCollectionRepository.LockedMonth() {
+            @Override
+            public Integer getYear() {
+                return year;
+            }
+
+            @Override
+            public Integer getMonth() {
+                return month;
+            }
+        };
+    }
+}
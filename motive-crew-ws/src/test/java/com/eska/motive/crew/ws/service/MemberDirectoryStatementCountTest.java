@@ -0,0 +1,183 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.response.UserDTO;
+import com.eska.motive.crew.ws.entity.Event;
+import com.eska.motive.crew.ws.entity.EventParticipant;
+import com.eska.motive.crew.ws.entity.MemberPayment;
+import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.entity.UserPreferences;
+import com.eska.motive.crew.ws.repository.EventParticipantRepository;
+import com.eska.motive.crew.ws.repository.EventRepository;
+import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
+import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import com.eska.motive.crew.ws.repository.UserPreferencesRepository;
+import com.eska.motive.crew.ws.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements Hibernate prepares for a member directory page, lazy loads
+ * included: the page, its count and the three grouped figure queries, whatever the
+ * page size.
+ *
+ * Runs only against MySQL, given like for the EXPLAIN test as
+ * {@code MOTIVE_CREW_EXPLAIN_DB_URL}; point it at an empty scratch schema.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${MOTIVE_CREW_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${MOTIVE_CREW_EXPLAIN_DB_USERNAME:root}",
+        "spring.datasource.password=${MOTIVE_CREW_EXPLAIN_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MemberService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "MOTIVE_CREW_EXPLAIN_DB_URL", matches = ".+")
+class MemberDirectoryStatementCountTest {
+
+    private static final int MEMBERS = 60;
+
+    /**
+     * Page, count, current month, events joined, total contribution
+     */
+    private static final long STATEMENTS_PER_PAGE = 5;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private CollectionStatsCache collectionStatsCache;
+
+    @MockitoBean
+    private DashboardMonthCache dashboardCache;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPreferencesRepository preferencesRepository;
+
+    @Autowired
+    private MonthlyCollectionRepository collectionRepository;
+
+    @Autowired
+    private MemberPaymentRepository paymentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventParticipantRepository participantRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            users.add(User.builder()
+                    .name(String.format("Member %02d", i))
+                    .email("member" + i + "@example.com")
+                    .passwordHash("-")
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+        preferencesRepository.saveAll(users.stream()
+                .map(user -> UserPreferences.builder()
+                        .user(user)
+                        .notificationsEnabled(true)
+                        .darkMode(false)
+                        .language("en")
+                        .autoLogin(true)
+                        .defaultMonth(UserPreferences.DefaultMonth.CURRENT)
+                        .build())
+                .toList());
+
+        MonthlyCollection collection = collectionRepository.save(MonthlyCollection.builder()
+                .year(today.getYear())
+                .month(today.getMonthValue())
+                .build());
+        Event event = eventRepository.save(Event.builder()
+                .name("Lunch")
+                .eventDate(today)
+                .createdBy(users.get(0))
+                .build());
+
+        List<MemberPayment> payments = new ArrayList<>();
+        List<EventParticipant> participants = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            User user = users.get(i);
+            payments.add(MemberPayment.builder()
+                    .user(user)
+                    .collection(collection)
+                    .amount(new BigDecimal("5.00"))
+                    .paymentDate(i % 2 == 0 ? today : null)
+                    .status(i % 2 == 0 ? MemberPayment.PaymentStatus.PAID : MemberPayment.PaymentStatus.PENDING)
+                    .build());
+            if (i % 3 == 0) {
+                participants.add(EventParticipant.builder().event(event).user(user).build());
+            }
+        }
+        paymentRepository.saveAll(payments);
+        participantRepository.saveAll(participants);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithThePage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        Page<UserDTO> small = memberService.getAllMembers(null, null, null, PageRequest.of(0, 5, Sort.by("id")));
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Page<UserDTO> large = memberService.getAllMembers(null, null, null, PageRequest.of(0, 50, Sort.by("id")));
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(5, small.getNumberOfElements());
+        assertEquals(50, large.getNumberOfElements());
+        assertEquals(STATEMENTS_PER_PAGE, smallStatements);
+        assertEquals(STATEMENTS_PER_PAGE, largeStatements);
+
+        UserDTO member = large.getContent().stream()
+                .filter(dto -> dto.getEmail().equals("member0@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("paid", member.getCurrentMonthStatus());
+        assertEquals(1, member.getEventsJoined());
+        assertEquals(0, new BigDecimal("5.00").compareTo(member.getTotalContribution()));
+    }
+}
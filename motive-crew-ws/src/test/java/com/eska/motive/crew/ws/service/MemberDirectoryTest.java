@@ -0,0 +1,127 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.response.UserDTO;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.repository.EventParticipantRepository;
+import com.eska.motive.crew.ws.repository.MemberPaymentRepository;
+import com.eska.motive.crew.ws.repository.UserRepository;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The member directory issues the same four queries whatever the page size. The users
+ * have no payment or participation collections loaded, so reading them would fail.
+ * See {@link MemberDirectoryStatementCountTest} for the count against a database.
+ */
+@ExtendWith(MockitoExtension.class)
+class MemberDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MemberPaymentRepository paymentRepository;
+
+    @Mock
+    private EventParticipantRepository participantRepository;
+
+    @InjectMocks
+    private MemberService memberService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void pageRunsTheSameQueriesWhateverItsSize(int size) {
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            users.add(User.builder().id(id).name("Member " + id).email(id + "@example.com").build());
+        }
+        PageRequest pageable = PageRequest.of(0, size);
+        when(userRepository.findByFilters(null, null, null, pageable)).thenReturn(new PageImpl<>(users, pageable, 200));
+        LocalDate paidOn = LocalDate.now().withDayOfMonth(1);
+        when(paymentRepository.findPaidInMonth(anyInt(), anyInt(), anyCollection())).thenReturn(List.of(paidMonth(1L, paidOn)));
+        when(participantRepository.countJoinedByUsers(anyCollection())).thenReturn(List.of(joined(1L, 4L)));
+        when(paymentRepository.sumPaidByUsers(anyCollection())).thenReturn(List.of(paidTotal(1L, new BigDecimal("30.00"))));
+
+        Page<UserDTO> page = memberService.getAllMembers(null, null, null, pageable);
+
+        verify(userRepository).findByFilters(null, null, null, pageable);
+        verify(paymentRepository).findPaidInMonth(anyInt(), anyInt(), any());
+        verify(participantRepository).countJoinedByUsers(any());
+        verify(paymentRepository).sumPaidByUsers(any());
+        verifyNoMoreInteractions(userRepository, paymentRepository, participantRepository);
+
+        UserDTO first = page.getContent().get(0);
+        assertEquals("paid", first.getCurrentMonthStatus());
+        assertEquals(paidOn, first.getLastPaymentDate());
+        assertEquals(4, first.getEventsJoined());
+        assertEquals(new BigDecimal("30.00"), first.getTotalContribution());
+        UserDTO last = page.getContent().get(size - 1);
+        if (size > 1) {
+            assertEquals("pending", last.getCurrentMonthStatus());
+            assertEquals(0, last.getEventsJoined());
+            assertEquals(BigDecimal.ZERO, last.getTotalContribution());
+        }
+    }
+
+    private static MemberPaymentRepository.PaidMonth paidMonth(Long userId, LocalDate date) {
+        return new MemberPaymentRepository.PaidMonth() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDate getPaymentDate() {
+                return date;
+            }
+        };
+    }
+
+    private static EventParticipantRepository.JoinedCount joined(Long userId, Long count) {
+        return new EventParticipantRepository.JoinedCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getJoined() {
+                return count;
+            }
+        };
+    }
+
+    private static MemberPaymentRepository.PaidTotal paidTotal(Long userId, BigDecimal total) {
+        return new MemberPaymentRepository.PaidTotal() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return total;
+            }
+        };
+    }
+}
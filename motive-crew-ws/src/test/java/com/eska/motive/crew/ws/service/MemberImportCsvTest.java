@@ -0,0 +1,126 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.dto.request.CreateMemberRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemberImportCsvTest {
+
+    @Test
+    void readsColumnsByHeaderName() throws IOException {
+        List<CreateMemberRequest> rows = read("""
+                email,notes,name,role
+                sara@example.com,ignored,Sara Khalil,admin
+                omar@example.com,,Omar Haddad,
+                """);
+
+        assertEquals(2, rows.size());
+        assertEquals("Sara Khalil", rows.get(0).getName());
+        assertEquals("sara@example.com", rows.get(0).getEmail());
+        assertEquals("admin", rows.get(0).getRole());
+        assertNull(rows.get(0).getPhone());
+        assertEquals("Omar Haddad", rows.get(1).getName());
+        assertNull(rows.get(1).getRole());
+    }
+
+    @Test
+    void trimsValuesAndTreatsBlankAsMissing() throws IOException {
+        List<CreateMemberRequest> rows = read("name,email,phone\n  Sara Khalil , sara@example.com ,   \n");
+
+        assertEquals("Sara Khalil", rows.get(0).getName());
+        assertEquals("sara@example.com", rows.get(0).getEmail());
+        assertNull(rows.get(0).getPhone());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<CreateMemberRequest> rows = read("""
+                name,email,position
+                "Haddad, Omar",omar@example.com,"Lead ""Ops"" engineer"
+                "Sara
+                Khalil",sara@example.com,"Line one\r
+                line two"
+                """);
+
+        assertEquals(2, rows.size());
+        assertEquals("Haddad, Omar", rows.get(0).getName());
+        assertEquals("Lead \"Ops\" engineer", rows.get(0).getPosition());
+        assertEquals("Sara\nKhalil", rows.get(1).getName());
+        assertEquals("sara@example.com", rows.get(1).getEmail());
+        assertEquals("Line one\r\nline two", rows.get(1).getPosition());
+    }
+
+    @Test
+    void acceptsCrlfLineEndings() throws IOException {
+        List<CreateMemberRequest> rows = read("name,email\r\nSara,sara@example.com\r\nOmar,omar@example.com\r\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("sara@example.com", rows.get(0).getEmail());
+        assertEquals("Omar", rows.get(1).getName());
+        assertEquals("omar@example.com", rows.get(1).getEmail());
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        List<CreateMemberRequest> rows = read("name,email\nSara,sara@example.com\nOmar,\"omar@example.com\"");
+
+        assertEquals(2, rows.size());
+        assertEquals("omar@example.com", rows.get(1).getEmail());
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        List<CreateMemberRequest> rows = read("name,email\n\nSara,sara@example.com\r\n\r\n\nOmar,omar@example.com\n\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("Sara", rows.get(0).getName());
+        assertEquals("Omar", rows.get(1).getName());
+    }
+
+    @Test
+    void ignoresByteOrderMarkBeforeHeader() throws IOException {
+        List<CreateMemberRequest> rows = read("\uFEFFname,email\nSara,sara@example.com\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Sara", rows.get(0).getName());
+    }
+
+    @Test
+    void ignoresByteOrderMarkBeforeQuotedHeader() throws IOException {
+        List<CreateMemberRequest> rows = read("\uFEFF\"Name\",\"Email\"\r\nSara,sara@example.com\r\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Sara", rows.get(0).getName());
+        assertEquals("sara@example.com", rows.get(0).getEmail());
+    }
+
+    @Test
+    void rejectsHeaderWithoutNameOrEmail() {
+        assertThrows(IOException.class, () -> read("name,phone\nSara,0790000000\n"));
+        assertThrows(IOException.class, () -> read("email\nsara@example.com\n"));
+    }
+
+    @Test
+    void emptyInputHasNoRows() throws IOException {
+        assertEquals(List.of(), read(""));
+    }
+
+    private static List<CreateMemberRequest> read(String csv) throws IOException {
+        MemberImportService.CsvRowSource source =
+                new MemberImportService.CsvRowSource(new BufferedReader(new StringReader(csv)));
+        List<CreateMemberRequest> rows = new ArrayList<>();
+        for (CreateMemberRequest row = source.next(); row != null; row = source.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
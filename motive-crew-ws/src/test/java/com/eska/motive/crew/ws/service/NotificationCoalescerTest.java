@@ -0,0 +1,197 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Notification;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerTest {
+
+    private static final Notification.NotificationType EVENT = Notification.NotificationType.EVENT;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationCoalescer coalescer;
+
+    private final User alice = User.builder().id(1L).name("Alice").build();
+    private final User omar = User.builder().id(2L).name("Omar").build();
+
+    /**
+     * Copies of what reached the repository, as the coalescer reuses its entities on retry
+     */
+    private final List<Notification> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(coalescer, "maxAttempts", 3);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sameTargetWithinTheWindowBecomesOneRow() {
+        recordSaveAll();
+        submit(alice, 10L, "first");
+        submit(alice, 10L, "second");
+        submit(alice, 10L, "third");
+        submit(alice, 11L, "other event");
+        submit(omar, 10L, "other user");
+
+        assertEquals(3, coalescer.getPendingCount());
+        coalescer.flushAll();
+
+        assertEquals(0, coalescer.getPendingCount());
+        assertEquals(3, saved.size());
+        Notification merged = savedFor(alice, 10L);
+        assertEquals(3, merged.getOccurrenceCount());
+        assertEquals("third", merged.getMessage());
+        assertEquals(1, savedFor(alice, 11L).getOccurrenceCount());
+        assertEquals(1, savedFor(omar, 10L).getOccurrenceCount());
+    }
+
+    @Test
+    void openWindowsAreNotFlushedEarly() {
+        submit(alice, 10L, "first");
+
+        coalescer.flushDue();
+
+        assertEquals(1, coalescer.getPendingCount());
+        verify(notificationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void nothingIsQueuedUntilTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        submit(alice, 10L, "rolled back");
+        assertEquals(0, coalescer.getPendingCount());
+        // Rollback: the after-commit callbacks are discarded
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(0, coalescer.getPendingCount());
+
+        TransactionSynchronizationManager.initSynchronization();
+        submit(alice, 10L, "committed");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, coalescer.getPendingCount());
+    }
+
+    @Test
+    void failedBatchIsSavedRowByRowAndOnlyTheBadRowIsKept() {
+        doThrow(new DataIntegrityViolationException("batch")).when(notificationRepository).saveAll(anyList());
+        doAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            if (notification.getUser() == omar) {
+                throw new DataIntegrityViolationException("row");
+            }
+            saved.add(copy(notification));
+            return notification;
+        }).when(notificationRepository).save(any(Notification.class));
+        submit(alice, 10L, "fine");
+        submit(omar, 10L, "broken");
+
+        coalescer.flushAll();
+
+        assertEquals(1, saved.size());
+        assertEquals(alice, saved.get(0).getUser());
+        assertEquals(1, coalescer.getPendingCount());
+    }
+
+    @Test
+    void retriedRowKeepsOccurrencesThatArrivedMeanwhile() {
+        doThrow(new DataIntegrityViolationException("batch"))
+                .doAnswer(invocation -> {
+                    invocation.<List<Notification>>getArgument(0).forEach(n -> saved.add(copy(n)));
+                    return invocation.getArgument(0);
+                })
+                .when(notificationRepository).saveAll(anyList());
+        doThrow(new DataIntegrityViolationException("row")).when(notificationRepository).save(any(Notification.class));
+        submit(alice, 10L, "first");
+        submit(alice, 10L, "second");
+
+        coalescer.flushAll();
+        submit(alice, 10L, "third");
+        assertEquals(1, coalescer.getPendingCount());
+        coalescer.flushAll();
+
+        assertEquals(1, saved.size());
+        assertEquals(3, saved.get(0).getOccurrenceCount());
+        assertEquals(0, coalescer.getPendingCount());
+    }
+
+    @Test
+    void rowIsDroppedAfterMaxAttempts() {
+        doThrow(new DataIntegrityViolationException("batch")).when(notificationRepository).saveAll(anyList());
+        doThrow(new DataIntegrityViolationException("row")).when(notificationRepository).save(any(Notification.class));
+        submit(alice, 10L, "never saved");
+
+        coalescer.flushAll();
+        coalescer.flushAll();
+        assertEquals(1, coalescer.getPendingCount());
+        coalescer.flushAll();
+
+        assertEquals(0, coalescer.getPendingCount());
+        verify(notificationRepository, times(3)).save(any(Notification.class));
+    }
+
+    private void submit(User user, Long eventId, String message) {
+        coalescer.submitAfterCommit(user, EVENT, "Event update", message, eventId, "event");
+    }
+
+    private void recordSaveAll() {
+        doAnswer(invocation -> {
+            invocation.<List<Notification>>getArgument(0).forEach(n -> saved.add(copy(n)));
+            return invocation.getArgument(0);
+        }).when(notificationRepository).saveAll(anyList());
+    }
+
+    private Notification savedFor(User user, Long relatedId) {
+        return saved.stream()
+                .filter(n -> n.getUser() == user && n.getRelatedId().equals(relatedId))
+                .max(Comparator.comparing(Notification::getOccurrenceCount))
+                .orElseThrow();
+    }
+
+    private static Notification copy(Notification notification) {
+        return Notification.builder()
+                .user(notification.getUser())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .relatedId(notification.getRelatedId())
+                .relatedType(notification.getRelatedType())
+                .occurrenceCount(notification.getOccurrenceCount())
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.enums.PollType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PollTallyEngineTest {
+
+    private static final int A = 0;
+    private static final int B = 1;
+    private static final int C = 2;
+
+    @Test
+    void selectionRoundTrip() {
+        List<Integer> positions = List.of(0, 5, 31, 32, PollTallyEngine.MAX_MULTI_OPTIONS - 1);
+
+        long ballot = PollTallyEngine.encodeSelection(positions);
+
+        assertEquals(positions, PollTallyEngine.decode(PollType.MULTI, ballot));
+        // Order and duplicates do not matter for a selection
+        assertEquals(ballot, PollTallyEngine.encodeSelection(List.of(63, 32, 31, 5, 0, 5)));
+    }
+
+    @Test
+    void rankingRoundTripKeepsPreferenceOrder() {
+        List<Integer> positions = List.of(14, 0, 7, 3);
+
+        long ballot = PollTallyEngine.encodeRanking(positions);
+
+        assertEquals(positions, PollTallyEngine.decode(PollType.RANKED, ballot));
+    }
+
+    @Test
+    void fullRankingRoundTrip() {
+        List<Integer> positions = List.of(3, 1, 4, 0, 5, 9, 2, 6, 8, 7, 14, 13, 12, 11, 10);
+
+        long ballot = PollTallyEngine.encodeRanking(positions);
+
+        assertEquals(positions, PollTallyEngine.decode(PollType.RANKED, ballot));
+    }
+
+    @Test
+    void invalidBallotsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PollTallyEngine.encodeSelection(List.of(64)));
+        assertThrows(IllegalArgumentException.class, () -> PollTallyEngine.encodeSelection(List.of(-1)));
+        assertThrows(IllegalArgumentException.class, () -> PollTallyEngine.encodeRanking(List.of(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> PollTallyEngine.encodeRanking(List.of(15)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PollTallyEngine.encodeRanking(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15)));
+    }
+
+    @Test
+    void multiSelectCountsEverySelectedOption() {
+        Map<Long, Long> ballots = new LinkedHashMap<>();
+        ballots.put(PollTallyEngine.encodeSelection(List.of(A, B)), 2L);
+        ballots.put(PollTallyEngine.encodeSelection(List.of(B, C)), 3L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.MULTI, 3, ballots, 5);
+
+        assertArrayEquals(new long[]{2, 5, 3}, tally.counts());
+        assertEquals(5, tally.voters());
+        assertEquals(B, tally.winner());
+        assertEquals(List.of(), tally.rounds());
+    }
+
+    @Test
+    void multiSelectTieGoesToTheEarlierOption() {
+        Map<Long, Long> ballots = Map.of(
+                PollTallyEngine.encodeSelection(List.of(B, C)), 4L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.MULTI, 3, ballots, 4);
+
+        assertEquals(B, tally.winner());
+    }
+
+    @Test
+    void noVotesHaveNoWinner() {
+        assertEquals(-1, PollTallyEngine.tally(PollType.MULTI, 3, Map.of(), 0).winner());
+        assertEquals(-1, PollTallyEngine.tally(PollType.RANKED, 3, Map.of(), 0).winner());
+    }
+
+    @Test
+    void rankedMajorityInFirstRound() {
+        Map<Long, Long> ballots = new LinkedHashMap<>();
+        ballots.put(ranking(A, B), 3L);
+        ballots.put(ranking(B, A), 1L);
+        ballots.put(ranking(C), 1L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.RANKED, 3, ballots, 5);
+
+        assertEquals(A, tally.winner());
+        assertEquals(1, tally.rounds().size());
+        assertArrayEquals(new long[]{3, 1, 1}, tally.counts());
+    }
+
+    @Test
+    void rankedTransfersEliminatedPreferences() {
+        Map<Long, Long> ballots = new LinkedHashMap<>();
+        ballots.put(ranking(A), 2L);
+        ballots.put(ranking(B), 2L);
+        ballots.put(ranking(C, A), 1L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.RANKED, 3, ballots, 5);
+
+        assertEquals(2, tally.rounds().size());
+        assertArrayEquals(new long[]{2, 2, 1}, tally.rounds().get(0));
+        assertArrayEquals(new long[]{3, 2, 0}, tally.rounds().get(1));
+        assertEquals(A, tally.winner());
+    }
+
+    @Test
+    void exhaustedBallotsLeaveTheMajorityBase() {
+        Map<Long, Long> ballots = new LinkedHashMap<>();
+        ballots.put(ranking(A), 2L);
+        ballots.put(ranking(B), 2L);
+        ballots.put(ranking(C), 1L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.RANKED, 3, ballots, 5);
+
+        // Round 2: the C ballot is exhausted, so 2 of 4 continuing ballots is not a majority;
+        // the A/B tie eliminates the later option and A wins with 2 of 2
+        assertEquals(3, tally.rounds().size());
+        assertArrayEquals(new long[]{2, 2, 0}, tally.rounds().get(1));
+        assertArrayEquals(new long[]{2, 0, 0}, tally.rounds().get(2));
+        assertEquals(A, tally.winner());
+        assertEquals(5, tally.voters());
+    }
+
+    @Test
+    void rankedEliminationTieGoesAgainstTheLaterOption() {
+        Map<Long, Long> ballots = new LinkedHashMap<>();
+        ballots.put(ranking(A), 3L);
+        ballots.put(ranking(B, C), 2L);
+        ballots.put(ranking(C, B), 2L);
+
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.RANKED, 3, ballots, 7);
+
+        // B and C tie on 2: C goes first and its ballots carry B past A
+        assertArrayEquals(new long[]{3, 2, 2}, tally.rounds().get(0));
+        assertArrayEquals(new long[]{3, 4, 0}, tally.rounds().get(1));
+        assertEquals(B, tally.winner());
+    }
+
+    @Test
+    void rankedWithEveryBallotExhaustedHasNoWinner() {
+        Map<Long, Long> ballots = Map.of(ranking(C), 2L);
+
+        // Only A and B take part (two options), so the C ballot never counts
+        PollTallyEngine.Tally tally = PollTallyEngine.tally(PollType.RANKED, 2, ballots, 2);
+
+        assertEquals(-1, tally.winner());
+        assertArrayEquals(new long[]{0, 0}, tally.counts());
+    }
+
+    private static long ranking(Integer... positions) {
+        return PollTallyEngine.encodeRanking(List.of(positions));
+    }
+}
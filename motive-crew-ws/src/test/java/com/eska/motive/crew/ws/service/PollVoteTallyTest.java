@@ -0,0 +1,229 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.repository.PollOptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PollVoteTallyTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PollStatsService pollStatsService;
+
+    @Mock
+    private PollOptionRepository pollOptionRepository;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @InjectMocks
+    private PollVoteTally tally;
+
+    /**
+     * Stand-in for poll_options.votes_count, keyed by option id
+     */
+    private final Map<Long, Long> stored = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().doAnswer(invocation -> {
+            List<Object[]> increments = invocation.getArgument(1);
+            increments.forEach(increment -> stored.merge((Long) increment[1], (Long) increment[0], Long::sum));
+            return new int[increments.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void concurrentVotesAndFlushesLoseNothing() throws Exception {
+        int threads = 8;
+        int votesPerThread = 20_000;
+        long[] options = {11L, 12L, 13L, 14L};
+
+        ExecutorService voters = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean voting = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (voting.get()) {
+                tally.flush();
+            }
+        });
+        flusher.start();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(voters.submit(() -> {
+                start.await();
+                for (int i = 0; i < votesPerThread; i++) {
+                    tally.record(options[(i + offset) % options.length]);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        voting.set(false);
+        flusher.join();
+        voters.shutdown();
+        tally.flush();
+
+        long expectedPerOption = (long) threads * votesPerThread / options.length;
+        for (long option : options) {
+            assertEquals(expectedPerOption, stored.getOrDefault(option, 0L));
+            assertEquals(0, tally.getPending(option));
+        }
+        assertEquals(0, tally.getPendingTotal());
+    }
+
+    @Test
+    void votesBeingFlushedStayVisibleUntilCommit() {
+        tally.record(21L);
+        tally.record(21L);
+        tally.record(21L);
+
+        doAnswer(invocation -> {
+            // Inside the flush transaction the delta has not been written yet
+            assertEquals(3, tally.getPending(21L));
+            tally.record(21L);
+            List<Object[]> increments = invocation.getArgument(1);
+            increments.forEach(increment -> stored.merge((Long) increment[1], (Long) increment[0], Long::sum));
+            return new int[increments.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        tally.flush();
+
+        assertEquals(3, stored.get(21L));
+        assertEquals(1, tally.getPending(21L), "a vote recorded during the flush is kept for the next one");
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        tally.record(31L);
+        tally.record(32L);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        tally.flush();
+
+        assertEquals(1, tally.getPending(31L));
+        assertEquals(1, tally.getPending(32L));
+        assertEquals(2, tally.getPendingTotal());
+
+        setUp();
+        tally.flush();
+
+        assertEquals(1L, stored.get(31L));
+        assertEquals(1L, stored.get(32L));
+        assertEquals(0, tally.getPendingTotal());
+    }
+
+    @Test
+    void ballotsAreAddedToTheTotalByTheFlush() {
+        tally.record(41L);
+        tally.recordBallot();
+        tally.recordBallot();
+        assertEquals(3, tally.getPendingTotal());
+
+        tally.flush();
+
+        verify(pollStatsService).adjust(0, 0, 3, 0);
+        assertEquals(1L, stored.get(41L));
+        assertEquals(0, tally.getPendingTotal());
+    }
+
+    @Test
+    void ballotsAloneSkipTheOptionUpdate() {
+        tally.recordBallot();
+
+        tally.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(pollStatsService).adjust(0, 0, 1, 0);
+        assertEquals(0, tally.getPendingTotal());
+    }
+
+    @Test
+    void recountCoversPollsSettledForTheGracePeriod() {
+        ReflectionTestUtils.setField(tally, "recountGraceMs", 600_000L);
+        when(schedulerLeaseService.tryAcquire(anyString(), any())).thenReturn(true);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(10);
+
+        tally.recount();
+
+        verify(pollOptionRepository).recountSettled(argThat(settled ->
+                !settled.isBefore(before) && settled.isBefore(LocalDateTime.now().minusMinutes(9))));
+        verify(pollStatsService).recountVotes(any());
+    }
+
+    @Test
+    void recountWaitsForThisNodesPendingVotes() {
+        lenient().when(schedulerLeaseService.tryAcquire(anyString(), any())).thenReturn(true);
+        tally.record(51L);
+
+        tally.recount();
+
+        verify(pollOptionRepository, never()).recountSettled(any());
+        verify(schedulerLeaseService, never()).tryAcquire(anyString(), any());
+
+        tally.flush();
+        tally.recount();
+        verify(pollOptionRepository).recountSettled(any());
+    }
+
+    @Test
+    void recountRunsOnTheLeaseHolderOnly() {
+        when(schedulerLeaseService.tryAcquire(anyString(), any())).thenReturn(false);
+
+        tally.recount();
+
+        verify(pollOptionRepository, never()).recountSettled(any());
+        verify(pollStatsService, never()).recountVotes(any());
+    }
+}
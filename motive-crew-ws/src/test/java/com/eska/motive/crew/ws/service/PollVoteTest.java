@@ -0,0 +1,193 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.Poll;
+import com.eska.motive.crew.ws.entity.PollOption;
+import com.eska.motive.crew.ws.entity.User;
+import com.eska.motive.crew.ws.enums.PollStatus;
+import com.eska.motive.crew.ws.enums.PollType;
+import com.eska.motive.crew.ws.exception.ValidationException;
+import com.eska.motive.crew.ws.repository.PollRepository;
+import com.eska.motive.crew.ws.repository.PollVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Votes go through {@link PollService#vote}: the unique (poll_id, user_id) insert is the
+ * only duplicate check, and the count reaches the option through the tally and its flush.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PollVoteTest {
+
+    private static final Long POLL_ID = 7L;
+    private static final long[] OPTIONS = {71L, 72L, 73L};
+
+    @Mock
+    private PollRepository pollRepository;
+
+    @Mock
+    private PollVoteRepository pollVoteRepository;
+
+    @InjectMocks
+    private PollService pollService;
+
+    private final PollVoteTally tally = new PollVoteTally();
+
+    /**
+     * Stand-in for the unique (poll_id, user_id) key of poll_votes
+     */
+    private final Set<Long> voters = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Stand-in for poll_options.votes_count, keyed by option id
+     */
+    private final Map<Long, Long> stored = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Poll poll = Poll.builder().id(POLL_ID).status(PollStatus.ACTIVE).type(PollType.SINGLE).build();
+        for (long option : OPTIONS) {
+            poll.addOption(PollOption.builder().id(option).label("Option " + option).votesCount(0).build());
+        }
+        when(pollRepository.findById(POLL_ID)).thenReturn(Optional.of(poll));
+        when(pollVoteRepository.insertIgnore(eq(POLL_ID), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> voters.add(invocation.getArgument(2)) ? 1 : 0);
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            List<Object[]> increments = invocation.getArgument(1);
+            increments.forEach(increment -> stored.merge((Long) increment[1], (Long) increment[0], Long::sum));
+            return new int[increments.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        ReflectionTestUtils.setField(tally, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(tally, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(tally, "pollStatsService", mock(PollStatsService.class));
+        ReflectionTestUtils.setField(pollService, "pollVoteTally", tally);
+    }
+
+    @Test
+    void concurrentVotersAreCountedExactlyOnce() throws Exception {
+        int users = 3_000;
+        int attemptsPerUser = 3;
+        int threads = 16;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicBoolean voting = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (voting.get()) {
+                tally.flush();
+            }
+        });
+        flusher.start();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int attempt = 0; attempt < attemptsPerUser; attempt++) {
+            for (int u = 0; u < users; u++) {
+                long userId = u + 1;
+                // A user's repeated submits may pick other options; only the first recorded one counts
+                long option = OPTIONS[(u + attempt) % OPTIONS.length];
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        pollService.vote(User.builder().id(userId).build(), POLL_ID, option, null);
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        voting.set(false);
+        flusher.join();
+        pool.shutdown();
+        tally.flush();
+
+        assertEquals(users, voters.size());
+        assertEquals(users * (attemptsPerUser - 1), rejected.get());
+        assertEquals(users, stored.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(0, tally.getPendingTotal());
+    }
+
+    @Test
+    void secondVoteIsRejectedAndNotCounted() throws Exception {
+        User user = User.builder().id(1L).build();
+
+        pollService.vote(user, POLL_ID, OPTIONS[0], null);
+        assertThrows(ValidationException.class, () -> pollService.vote(user, POLL_ID, OPTIONS[1], null));
+
+        assertEquals(1, tally.getPending(OPTIONS[0]));
+        assertEquals(0, tally.getPending(OPTIONS[1]));
+    }
+
+    @Test
+    void voteIsOnlyCountedOnceItsTransactionCommits() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pollService.vote(User.builder().id(1L).build(), POLL_ID, OPTIONS[0], null);
+            assertEquals(0, tally.getPending(OPTIONS[0]));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, tally.getPending(OPTIONS[0]));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void unknownOptionIsRejectedBeforeTheInsert() {
+        assertThrows(ValidationException.class,
+                () -> pollService.vote(User.builder().id(1L).build(), POLL_ID, 99L, null));
+
+        assertEquals(0, voters.size());
+    }
+}
@@ -0,0 +1,155 @@
+package com.eska.motive.crew.ws.service;
+
+import com.eska.motive.crew.ws.entity.MonthlyCollection;
+import com.eska.motive.crew.ws.repository.MonthlyCollectionRepository;
+import com.eska.motive.crew.ws.repository.MonthlySnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportSnapshotRefreshTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Mock
+    private MonthlyCollectionRepository collectionRepository;
+
+    @Mock
+    private MonthlySnapshotRepository snapshotRepository;
+
+    @Mock
+    private QueryFanOut queryFanOut;
+
+    @Mock
+    private DashboardMonthCache dashboardCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private MonthlyCollection collection;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reportService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(reportService, "lockedMonthsReloadMs", 60000L);
+        reportService.init();
+
+        collection = MonthlyCollection.builder().id(7L).year(2025).month(3).isLocked(true).build();
+        when(collectionRepository.findByYearAndMonthForUpdate(2025, 3)).thenReturn(Optional.of(collection));
+        when(queryFanOut.sequential(any())).thenAnswer(invocation -> mock(QueryFanOut.Batch.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportService.shutdown();
+    }
+
+    @Test
+    void changedMonthIsRebuiltWithOneUpsert() throws Exception {
+        reportService.onMonthsChanged(new ReportService.MonthsChanged(Set.of(MARCH)));
+        drain();
+
+        verify(snapshotRepository).upsert(eq(7L), eq(2025), eq(3), any(), any());
+        verify(snapshotRepository, never()).deleteByYearAndMonth(anyInt(), anyInt());
+        verify(dashboardCache).invalidateAfterCommit(2025, 3);
+    }
+
+    @Test
+    void changesWaitingForTheWorkerAreMerged() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor().execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            reportService.onMonthsChanged(new ReportService.MonthsChanged(Set.of(MARCH)));
+        }
+        // Nothing is read on the thread that committed the change
+        verifyNoInteractions(collectionRepository, snapshotRepository);
+
+        release.countDown();
+        drain();
+
+        verify(collectionRepository, times(1)).findByYearAndMonthForUpdate(2025, 3);
+        verify(snapshotRepository, times(1)).upsert(eq(7L), eq(2025), eq(3), any(), any());
+    }
+
+    @Test
+    void openMonthIsNotStored() throws Exception {
+        collection.setIsLocked(false);
+
+        reportService.onMonthsChanged(new ReportService.MonthsChanged(Set.of(MARCH)));
+        drain();
+
+        verify(snapshotRepository, never()).upsert(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void failedRebuildDropsTheSnapshot() throws Exception {
+        when(snapshotRepository.upsert(any(), any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        reportService.onMonthsChanged(new ReportService.MonthsChanged(Set.of(MARCH)));
+        drain();
+
+        verify(snapshotRepository).deleteByYearAndMonth(2025, 3);
+    }
+
+    @Test
+    void lockCapturesTheMonthAgainOnceOtherNodesHaveReloaded() throws Exception {
+        ReflectionTestUtils.setField(reportService, "lockedMonthsReloadMs", 50L);
+
+        reportService.onCollectionLocked(new ContributionService.CollectionLocked(7L, 2025, 3));
+        drain();
+
+        verify(snapshotRepository, timeout(5000).times(2)).upsert(eq(7L), eq(2025), eq(3), any(), any());
+    }
+
+    private ScheduledExecutorService executor() {
+        return (ScheduledExecutorService) ReflectionTestUtils.getField(reportService, "refreshExecutor");
+    }
+
+    /**
+     * Wait for everything queued on the single refresh thread so far
+     */
+    private void drain() throws Exception {
+        executor().submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}